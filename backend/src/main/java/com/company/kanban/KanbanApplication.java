@@ -1,17 +1,27 @@
 package com.company.kanban;
 
+import com.company.kanban.config.BroadcastProperties;
+import com.company.kanban.config.InvalidationBusProperties;
+import com.company.kanban.config.OutboxProperties;
 import com.company.kanban.config.PropertiesConfig;
+import com.company.kanban.config.TaskCacheProperties;
+import com.company.kanban.config.TaskResponseCacheProperties;
+import com.company.kanban.config.WriteCoalescingProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @SpringBootApplication
 @EnableCaching
-@EnableConfigurationProperties(PropertiesConfig.class)
+@EnableScheduling
+@EnableConfigurationProperties({PropertiesConfig.class, TaskCacheProperties.class, InvalidationBusProperties.class,
+        WriteCoalescingProperties.class, OutboxProperties.class, BroadcastProperties.class,
+        TaskResponseCacheProperties.class})
 public class KanbanApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(KanbanApplication.class, args);
@@ -0,0 +1,82 @@
+package com.company.kanban.cache;
+
+import com.company.kanban.model.event.AllTasksChangedEvent;
+import com.company.kanban.model.event.TaskChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Board-wide revision behind the listing ETags. It only moves after the caches have been invalidated
+ * (they listen with the highest precedence, this with the lowest), so a reader that sees a revision
+ * can never be served data older than it.
+ *
+ * With the invalidation bus every NOTIFY takes the next value of the shared board_revision row in the
+ * transaction that sends it, so all nodes receive the values in order and answer with the same tag once
+ * they have applied the same messages. Local commits not yet covered by one of this node's own messages
+ * add a suffix only this node issues, so its writers never get a 304 for the state before their write.
+ * Without the bus (or before it first connects) the revision is this process's own: a random epoch,
+ * which never compares equal to another process or this one before a restart, and a commit counter.
+ */
+@Component
+public class BoardRevision {
+
+    private record Shared(long revision, long covered) {}
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLong localChanges = new AtomicLong();
+    private volatile Shared shared;
+
+    //strong validator for every task listing and the board
+    public String eTag() {
+        Shared current = shared;
+        long local = localChanges.get();
+        if (current == null) {
+            return "\"b" + epoch + "-" + local + "\"";
+        }
+        if (current.covered() >= local) {
+            return "\"b" + current.revision() + "\"";
+        }
+        return "\"b" + current.revision() + "-" + epoch + "-" + local + "\"";
+    }
+
+    //committed local changes so far, the bus reads it before draining a batch to know what the batch covers
+    public long localChanges() {
+        return localChanges.get();
+    }
+
+    //a message of the bus was applied, covered is only known for this node's own messages (-1 otherwise)
+    public synchronized void advance(long revision, long covered) {
+        Shared current = shared;
+        if (current == null) {
+            shared = new Shared(revision, Math.max(covered, 0));
+            return;
+        }
+        shared = new Shared(Math.max(current.revision(), revision), Math.max(current.covered(), covered));
+    }
+
+    //the bus (re)connected and read the shared revision before the caches were dropped
+    public synchronized void resync(long revision) {
+        Shared current = shared;
+        shared = new Shared(current == null ? revision : Math.max(current.revision(), revision),
+                current == null ? 0 : current.covered());
+    }
+
+    //remote changes move the shared revision instead, through advance
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!event.remote()) localChanges.incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAllTasksChanged(AllTasksChangedEvent event) {
+        if (!event.remote()) localChanges.incrementAndGet();
+    }
+}
@@ -0,0 +1,175 @@
+package com.company.kanban.cache;
+
+import com.company.kanban.model.dto.TaskCount;
+import com.company.kanban.model.dto.TaskStats;
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+import com.company.kanban.model.event.AllTasksChangedEvent;
+import com.company.kanban.model.event.TaskChangedEvent;
+import com.company.kanban.model.event.TaskSnapshot;
+import com.company.kanban.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/*
+ * Task counts per status x priority, loaded with one GROUP BY and then moved by the change events
+ * (previous cell -1, current cell +1). A scheduled recheck compares the matrix with the database and
+ * replaces it on drift. A local write is tracked from right before its commit until its event has been
+ * applied, and the recheck only applies when no such write was open and no event arrived while it was
+ * counting. Otherwise a write that commits right before the count but reports after it would be counted
+ * twice. Changes from other nodes arrive after their commit and can't be tracked, a recheck that races
+ * with one of them is off by that change until the next recheck.
+ */
+@Component
+public class TaskCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskCounters.class);
+    private static final Status[] STATUSES = Status.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final int LOAD_ATTEMPTS = 3;
+
+    private final TaskRepository taskRepository;
+    private final Counter corrections;
+
+    //guarded by this, changes counts the applied events and inFlight holds the local writes that are
+    //committing, so a recheck can tell it raced with a write
+    private final long[] counts = new long[STATUSES.length * PRIORITIES.length];
+    private final Set<TaskChangedEvent> inFlight = Collections.newSetFromMap(new IdentityHashMap<>());
+    private long changes;
+    private boolean loaded;
+
+    public TaskCounters(TaskRepository taskRepository, MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.corrections = Counter.builder("kanban.tasks.stats.corrections")
+                .description("Scheduled rechecks that found the in-memory task counts out of date")
+                .register(meterRegistry);
+    }
+
+    public synchronized long count(Status status, Priority priority) {
+        return counts[cell(status, priority)];
+    }
+
+    public synchronized long count(Status status) {
+        long count = 0;
+        for (Priority priority : PRIORITIES) count += counts[cell(status, priority)];
+        return count;
+    }
+
+    public TaskStats stats() {
+        long[] copy;
+        synchronized (this) {
+            copy = counts.clone();
+        }
+
+        List<TaskCount> byStatusAndPriority = new ArrayList<>(copy.length);
+        long[] statusTotals = new long[STATUSES.length];
+        long[] priorityTotals = new long[PRIORITIES.length];
+        long total = 0;
+        for (Status status : STATUSES) {
+            for (Priority priority : PRIORITIES) {
+                long count = copy[cell(status, priority)];
+                byStatusAndPriority.add(new TaskCount(status, priority, count));
+                statusTotals[status.ordinal()] += count;
+                priorityTotals[priority.ordinal()] += count;
+                total += count;
+            }
+        }
+
+        List<TaskCount> byStatus = new ArrayList<>(STATUSES.length);
+        for (Status status : STATUSES) byStatus.add(new TaskCount(status, null, statusTotals[status.ordinal()]));
+        List<TaskCount> byPriority = new ArrayList<>(PRIORITIES.length);
+        for (Priority priority : PRIORITIES) byPriority.add(new TaskCount(null, priority, priorityTotals[priority.ordinal()]));
+
+        return new TaskStats(total, byStatus, byPriority, byStatusAndPriority);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (int attempt = 1; attempt <= LOAD_ATTEMPTS; attempt++) {
+            if (recheck()) return;
+        }
+        log.warn("Task counts kept changing while loading, the scheduled recheck will correct them");
+    }
+
+    //true when the matrix now matches the database, false when a write raced with the count
+    @Scheduled(initialDelayString = "${kanban.stats.recheck-interval:PT5M}",
+            fixedDelayString = "${kanban.stats.recheck-interval:PT5M}")
+    public boolean recheck() {
+        long changesBefore;
+        synchronized (this) {
+            changesBefore = changes;
+        }
+
+        long[] actual = new long[counts.length];
+        for (TaskCount row : taskRepository.countByStatusAndPriority()) {
+            actual[cell(row.status(), row.priority())] = row.count();
+        }
+
+        synchronized (this) {
+            if (changes != changesBefore || !inFlight.isEmpty()) return false;
+            if (!Arrays.equals(counts, actual)) {
+                if (loaded) {
+                    log.warn("Task counts drifted from the database, expected {} but held {}",
+                            Arrays.toString(actual), Arrays.toString(counts));
+                    corrections.increment();
+                }
+                System.arraycopy(actual, 0, counts, 0, counts.length);
+            }
+            loaded = true;
+            return true;
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onTaskChanged(TaskChangedEvent event) {
+        move(event.previous(), -1);
+        move(event.current(), 1);
+        changes++;
+    }
+
+    //first of the before-commit listeners, so a write that gets as far as committing is always tracked
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public synchronized void onTaskCommitting(TaskChangedEvent event) {
+        inFlight.add(event);
+    }
+
+    //runs after the after-commit listeners, on rollback as well
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public synchronized void onTaskCompleted(TaskChangedEvent event) {
+        inFlight.remove(event);
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAllTasksChanged(AllTasksChangedEvent event) {
+        load();
+    }
+
+    private void move(TaskSnapshot task, int delta) {
+        if (task == null || task.status() == null || task.priority() == null) return;
+        counts[cell(task.status(), task.priority())] += delta;
+    }
+
+    private static int cell(Status status, Priority priority) {
+        return status.ordinal() * PRIORITIES.length + priority.ordinal();
+    }
+}
@@ -0,0 +1,83 @@
+package com.company.kanban.cache;
+
+import com.company.kanban.config.TaskCacheProperties;
+import com.company.kanban.model.event.AllTasksChangedEvent;
+import com.company.kanban.model.event.TaskChangedEvent;
+import com.company.kanban.model.event.TaskSnapshot;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/*
+ * Read-through cache of single tasks keyed by id. Entries are immutable snapshots carrying the
+ * task version, and a refresh only ever replaces an entry with the same or a newer version, so a
+ * slow loader can't overwrite what a write just stored.
+ */
+@Component
+public class TaskEntityCache {
+
+    public static final String CACHE_NAME = "task";
+
+    private final Cache<Long, TaskSnapshot> cache;
+
+    public TaskEntityCache(TaskCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.expireAfterWrite())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    //loading is atomic per id, a concurrent refresh or evict for the same id waits for it
+    public Optional<TaskSnapshot> get(Long id, Function<Long, Optional<TaskSnapshot>> loader) {
+        return Optional.ofNullable(cache.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    public Optional<TaskSnapshot> peek(Long id) {
+        return Optional.ofNullable(cache.getIfPresent(id));
+    }
+
+    public void refresh(TaskSnapshot snapshot) {
+        cache.asMap().merge(snapshot.id(), snapshot, TaskEntityCache::newer);
+    }
+
+    public void evict(Long id) {
+        cache.invalidate(id);
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        //remote snapshots are trimmed, only a local write knows the full saved state
+        if (event.current() != null && !event.remote()) {
+            refresh(event.current());
+        } else {
+            evict(event.taskId());
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAllTasksChanged(AllTasksChangedEvent event) {
+        clear();
+    }
+
+    private static TaskSnapshot newer(TaskSnapshot cached, TaskSnapshot candidate) {
+        if (cached.version() == null || candidate.version() == null) return candidate;
+        return candidate.version() >= cached.version() ? candidate : cached;
+    }
+}
@@ -0,0 +1,334 @@
+package com.company.kanban.cache;
+
+import com.company.kanban.config.InvalidationBusProperties;
+import com.company.kanban.model.event.AllTasksChangedEvent;
+import com.company.kanban.model.event.TaskChangedEvent;
+import com.company.kanban.model.event.TaskSnapshot;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+ * Keeps the task caches of all backend nodes coherent over PostgreSQL LISTEN/NOTIFY.
+ * Committed local changes are queued, collected for one flush interval and sent as few NOTIFY
+ * payloads as possible. Messages from other nodes are republished locally as remote events.
+ * LISTEN runs on its own connection outside the pool. Notifications sent while it was down are
+ * lost, so every (re)connect publishes an AllTasksChangedEvent and the local caches start over.
+ * The same holds on the sending side: a batch that could not be sent, or changes that did not fit
+ * into the bounded queue, turn the next message into a reset, which is retried until it gets through.
+ * Every message takes the next board revision in the transaction that sends it. The row lock makes
+ * those transactions commit, and so their notifications arrive, in revision order on every node.
+ */
+@Component
+@ConditionalOnProperty(name = "kanban.cache.bus.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskInvalidationBus implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskInvalidationBus.class);
+
+    //postgres rejects NOTIFY payloads of 8000 bytes or more
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    //queued to wake the publisher when peers have to drop everything
+    private static final TaskChangedEvent RESET = new TaskChangedEvent(null, null, null, false);
+
+    private static final String NEXT_REVISION_SQL = "UPDATE board_revision SET revision = revision + 1 WHERE id = 1 RETURNING revision";
+    private static final String CURRENT_REVISION_SQL = "SELECT revision FROM board_revision WHERE id = 1";
+
+    private final DataSource dataSource;
+    private final JdbcConnectionDetails connectionDetails;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InvalidationBusProperties properties;
+    private final BoardRevision boardRevision;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final BlockingQueue<TaskChangedEvent> pending;
+    //set when peers missed changes, the next message tells them to drop everything
+    private final AtomicBoolean resetPending = new AtomicBoolean();
+
+    private final Counter sentMessages;
+    private final Counter failedSends;
+    private final Counter overflows;
+    private final Counter receivedChanges;
+    private final Counter reconnects;
+
+    private volatile boolean running;
+    private volatile Connection listenConnection;
+    private Thread listenerThread;
+    private Thread publisherThread;
+
+    public TaskInvalidationBus(DataSource dataSource,
+                               JdbcConnectionDetails connectionDetails,
+                               ObjectMapper objectMapper,
+                               ApplicationEventPublisher eventPublisher,
+                               InvalidationBusProperties properties,
+                               BoardRevision boardRevision,
+                               MeterRegistry meterRegistry) {
+        if (!properties.channel().matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid invalidation bus channel: " + properties.channel());
+        }
+        this.dataSource = dataSource;
+        this.connectionDetails = connectionDetails;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.boardRevision = boardRevision;
+        this.pending = new LinkedBlockingQueue<>(properties.maxPending());
+        this.sentMessages = meterRegistry.counter("kanban.cache.bus.sent.messages");
+        this.failedSends = meterRegistry.counter("kanban.cache.bus.failed.sends");
+        this.overflows = meterRegistry.counter("kanban.cache.bus.overflows");
+        this.receivedChanges = meterRegistry.counter("kanban.cache.bus.received.changes");
+        this.reconnects = meterRegistry.counter("kanban.cache.bus.reconnects");
+    }
+
+    //queued before BoardRevision counts the change, so a batch drained after that count includes it
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!event.remote()) {
+            enqueue(event);
+        }
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAllTasksChanged(AllTasksChangedEvent event) {
+        if (!event.remote()) {
+            enqueue(RESET);
+        }
+    }
+
+    //a full queue means the publisher is busy, it picks the reset up without a wakeup
+    private void enqueue(TaskChangedEvent event) {
+        if (!pending.offer(event)) {
+            overflows.increment();
+            resetPending.set(true);
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listenerThread = Thread.ofVirtual().name("task-invalidation-listener").start(this::listenLoop);
+        publisherThread = Thread.ofVirtual().name("task-invalidation-publisher").start(this::publishLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        closeListenConnection();
+        if (listenerThread != null) listenerThread.interrupt();
+        if (publisherThread != null) publisherThread.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void publishLoop() {
+        while (running) {
+            try {
+                //an owed reset goes out without waiting for the next change
+                TaskChangedEvent first = resetPending.get() ? pending.poll() : pending.take();
+                //let a burst of writes pile up so it leaves in as few notifications as possible
+                Thread.sleep(properties.flushInterval().toMillis());
+
+                //every local change counted so far is already queued, so this batch covers them
+                long covered = boardRevision.localChanges();
+                List<TaskChangedEvent> batch = new ArrayList<>();
+                if (first != null) batch.add(first);
+                pending.drainTo(batch);
+                boolean reset = resetPending.getAndSet(false);
+                try {
+                    send(batch, reset, covered);
+                } catch (Exception e) {
+                    failedSends.increment();
+                    resetPending.set(true);
+                    log.warn("Failed to publish task invalidations, peers get a reset once sending works again", e);
+                    Thread.sleep(properties.reconnectDelay().toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void send(List<TaskChangedEvent> batch, boolean reset, long covered) throws SQLException, JsonProcessingException {
+        reset = reset || batch.stream().anyMatch(event -> event == RESET);
+
+        List<TaskChangedEvent> changes = reset
+                ? List.of()
+                : batch.stream().map(TaskInvalidationBus::compact).toList();
+
+        List<List<TaskChangedEvent>> parts = new ArrayList<>();
+        split(changes, reset, parts);
+
+        //one revision per payload, so a node that applied a payload has applied everything before it,
+        //only the last one tells this node that its changes have gone out
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement nextRevision = connection.prepareStatement(NEXT_REVISION_SQL);
+                 PreparedStatement notify = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+                for (int i = 0; i < parts.size(); i++) {
+                    long revision;
+                    try (ResultSet resultSet = nextRevision.executeQuery()) {
+                        resultSet.next();
+                        revision = resultSet.getLong(1);
+                    }
+                    TaskInvalidationMessage message = new TaskInvalidationMessage(nodeId, parts.get(i), reset,
+                            revision, i == parts.size() - 1 ? covered : -1);
+                    notify.setString(1, properties.channel());
+                    notify.setString(2, objectMapper.writeValueAsString(message));
+                    notify.execute();
+                }
+                connection.commit();
+            } catch (SQLException | JsonProcessingException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+        sentMessages.increment(parts.size());
+    }
+
+    //measured with the widest revision and covered values, so the final payload can only be shorter
+    private void split(List<TaskChangedEvent> changes, boolean reset, List<List<TaskChangedEvent>> parts) throws JsonProcessingException {
+        String payload = objectMapper.writeValueAsString(
+                new TaskInvalidationMessage(nodeId, changes, reset, Long.MAX_VALUE, Long.MAX_VALUE));
+        if (payload.getBytes(StandardCharsets.UTF_8).length <= MAX_PAYLOAD_BYTES || changes.size() <= 1) {
+            parts.add(changes);
+            return;
+        }
+        int half = changes.size() / 2;
+        split(changes.subList(0, half), reset, parts);
+        split(changes.subList(half, changes.size()), reset, parts);
+    }
+
+    private void listenLoop() {
+        boolean firstConnect = true;
+        while (running) {
+            try {
+                Connection connection = DriverManager.getConnection(connectionDetails.getJdbcUrl(),
+                        connectionDetails.getUsername(),
+                        connectionDetails.getPassword());
+                listenConnection = connection;
+                long revision;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + properties.channel());
+                    //read once listening and before the caches go, everything up to it is then reloaded
+                    try (ResultSet resultSet = statement.executeQuery(CURRENT_REVISION_SQL)) {
+                        resultSet.next();
+                        revision = resultSet.getLong(1);
+                    }
+                }
+                if (!firstConnect) {
+                    reconnects.increment();
+                }
+                firstConnect = false;
+                //whatever was sent while we weren't listening is gone, start over
+                eventPublisher.publishEvent(new AllTasksChangedEvent(true));
+                boardRevision.resync(revision);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) properties.pollTimeout().toMillis());
+                    if (notifications == null) continue;
+                    for (PGNotification notification : notifications) {
+                        receive(notification.getParameter());
+                    }
+                }
+            } catch (Exception e) {
+                if (!running) return;
+                log.warn("Task invalidation listener lost its connection, reconnecting", e);
+                closeListenConnection();
+                try {
+                    Thread.sleep(properties.reconnectDelay().toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void receive(String payload) {
+        TaskInvalidationMessage message;
+        try {
+            message = objectMapper.readValue(payload, TaskInvalidationMessage.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed task invalidation message: {}", payload);
+            return;
+        }
+        //our own changes are applied already, the message only tells where they ended up
+        if (nodeId.equals(message.origin())) {
+            boardRevision.advance(message.revision(), message.covered());
+            return;
+        }
+
+        if (message.reset()) {
+            eventPublisher.publishEvent(new AllTasksChangedEvent(true));
+        } else {
+            for (TaskChangedEvent change : message.changes()) {
+                receivedChanges.increment();
+                eventPublisher.publishEvent(change.asRemote());
+            }
+        }
+        boardRevision.advance(message.revision(), -1);
+    }
+
+    private void closeListenConnection() {
+        Connection connection = listenConnection;
+        listenConnection = null;
+        if (connection == null) return;
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close task invalidation listen connection", e);
+        }
+    }
+
+    //peers only need keys, filters and titles, descriptions would just eat into the payload limit
+    private static TaskChangedEvent compact(TaskChangedEvent event) {
+        return new TaskChangedEvent(event.type(), compact(event.previous()), compact(event.current()), false);
+    }
+
+    private static TaskSnapshot compact(TaskSnapshot snapshot) {
+        if (snapshot == null) return null;
+        return new TaskSnapshot(snapshot.id(), snapshot.version(), snapshot.title(), null,
+                snapshot.status(), snapshot.priority());
+    }
+}
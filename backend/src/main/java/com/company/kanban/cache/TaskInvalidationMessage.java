@@ -0,0 +1,9 @@
+package com.company.kanban.cache;
+
+import com.company.kanban.model.event.TaskChangedEvent;
+
+import java.util.List;
+
+//NOTIFY payload, origin lets a node skip its own messages. revision is the board revision every node moves
+//to once it applied the message, covered how many of the origin's local changes have gone out with it (-1 unknown)
+public record TaskInvalidationMessage(String origin, List<TaskChangedEvent> changes, boolean reset, long revision, long covered) {}
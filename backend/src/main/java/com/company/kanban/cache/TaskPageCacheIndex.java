@@ -0,0 +1,135 @@
+package com.company.kanban.cache;
+
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+import com.company.kanban.model.event.AllTasksChangedEvent;
+import com.company.kanban.model.event.TaskChangedEvent;
+import com.company.kanban.model.event.TaskSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.data.domain.Pageable;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Key generator for the "tasks" page cache which also remembers which keys were handed out per
+ * (status, priority) filter. When a task changes only the filters it was in or is moving into are
+ * invalidated: their generation is bumped, so a reader that loaded the old state before the commit
+ * can only ever store it under a key nobody asks for again, and their known pages are evicted.
+ */
+@Component
+public class TaskPageCacheIndex implements KeyGenerator {
+
+    public static final String CACHE_NAME = "tasks";
+    private static final int MAX_KEYS_PER_FILTER = 512;
+
+    private final CacheManager cacheManager;
+    private final Map<TaskPageKey.Filter, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Map<TaskPageKey.Filter, Set<TaskPageKey>> keysByFilter = new ConcurrentHashMap<>();
+    private final Counter invalidations;
+    private final Counter evictedPages;
+
+    public TaskPageCacheIndex(CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.invalidations = Counter.builder("kanban.cache.tasks.invalidations")
+                .description("Task changes that invalidated cached task pages")
+                .register(meterRegistry);
+        this.evictedPages = Counter.builder("kanban.cache.tasks.evicted.pages")
+                .description("Cached task pages evicted by targeted invalidation")
+                .register(meterRegistry);
+    }
+
+    //called with the getTasks / getTaskSlice / getTasksWithoutLinks(status, priority, pageable) arguments
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        Status status = (Status) params[0];
+        Priority priority = (Priority) params[1];
+        Pageable pageable = (Pageable) params[2];
+        return keyFor(method.getName(), status, priority, pageable);
+    }
+
+    public TaskPageKey keyFor(Status status, Priority priority, Pageable pageable) {
+        return keyFor("getTasks", status, priority, pageable);
+    }
+
+    public TaskPageKey keyFor(String view, Status status, Priority priority, Pageable pageable) {
+        TaskPageKey.Filter filter = new TaskPageKey.Filter(status, priority);
+        TaskPageKey key = new TaskPageKey(filter,
+                view,
+                pageable.getSort().toString(),
+                pageable.getPageNumber(),
+                pageable.getPageSize(),
+                generation(filter).get());
+
+        Set<TaskPageKey> keys = keysByFilter.computeIfAbsent(filter, f -> ConcurrentHashMap.newKeySet());
+        keys.add(key);
+        if (keys.size() > MAX_KEYS_PER_FILTER) {
+            pruneExpiredKeys(keys);
+        }
+        return key;
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        Set<TaskPageKey.Filter> affected = new HashSet<>();
+        addFilters(affected, event.previous());
+        addFilters(affected, event.current());
+
+        affected.forEach(this::invalidate);
+        invalidations.increment();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAllTasksChanged(AllTasksChangedEvent event) {
+        generations.values().forEach(AtomicLong::incrementAndGet);
+        keysByFilter.clear();
+
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) cache.clear();
+        invalidations.increment();
+    }
+
+    public void invalidate(TaskPageKey.Filter filter) {
+        generation(filter).incrementAndGet();
+
+        Set<TaskPageKey> keys = keysByFilter.remove(filter);
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (keys == null || cache == null) return;
+
+        keys.forEach(cache::evict);
+        evictedPages.increment(keys.size());
+    }
+
+    private AtomicLong generation(TaskPageKey.Filter filter) {
+        return generations.computeIfAbsent(filter, f -> new AtomicLong());
+    }
+
+    private void addFilters(Set<TaskPageKey.Filter> affected, TaskSnapshot snapshot) {
+        if (snapshot != null) {
+            affected.addAll(TaskPageKey.Filter.containing(snapshot.status(), snapshot.priority()));
+        }
+    }
+
+    //drop keys whose entries Caffeine has already expired or evicted on its own
+    private void pruneExpiredKeys(Set<TaskPageKey> keys) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+            keys.removeIf(key -> !nativeCache.asMap().containsKey(key));
+        }
+    }
+}
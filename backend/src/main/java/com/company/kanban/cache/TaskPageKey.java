@@ -0,0 +1,23 @@
+package com.company.kanban.cache;
+
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+
+import java.util.Set;
+
+//key of a cached task listing, view is the service method (pages and slices are different values),
+//generation changes every time the filter is invalidated
+public record TaskPageKey(Filter filter, String view, String sort, int page, int size, long generation) {
+
+    public record Filter(Status status, Priority priority) {
+
+        //every listing filter whose result contains a task with the given status and priority
+        public static Set<Filter> containing(Status status, Priority priority) {
+            return Set.of(
+                    new Filter(null, null),
+                    new Filter(status, null),
+                    new Filter(null, priority),
+                    new Filter(status, priority));
+        }
+    }
+}
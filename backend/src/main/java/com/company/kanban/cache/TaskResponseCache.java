@@ -0,0 +1,167 @@
+package com.company.kanban.cache;
+
+import com.company.kanban.config.TaskResponseCacheProperties;
+import com.company.kanban.model.event.AllTasksChangedEvent;
+import com.company.kanban.model.event.TaskChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/*
+ * Final JSON bytes of hot task pages, plain and gzip, so a hit is a byte copy instead of a Jackson
+ * serialization. Keys carry the board revision read before loading, so bytes built from data older
+ * than a commit are filed under a revision nobody asks for again. Serialization goes through the MVC
+ * converters, the bytes are exactly what the controller would have written.
+ */
+@Component
+public class TaskResponseCache {
+
+    public static final String CACHE_NAME = "taskResponses";
+
+    private record Key(TaskPageKey.Filter filter, String sort, int page, int size, String revision) {}
+
+    private record Entry(byte[] raw, byte[] gzip) {}
+
+    private final Cache<Key, Entry> cache;
+    private final BoardRevision boardRevision;
+    private final ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter;
+
+    public TaskResponseCache(TaskResponseCacheProperties properties,
+                             BoardRevision boardRevision,
+                             ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter,
+                             MeterRegistry meterRegistry) {
+        this.boardRevision = boardRevision;
+        this.handlerAdapter = handlerAdapter;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.expireAfterWrite())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public ResponseEntity<byte[]> respond(TaskPageKey.Filter filter, Pageable pageable, Supplier<?> loader) {
+        Key key = new Key(filter, pageable.getSort().toString(), pageable.getPageNumber(), pageable.getPageSize(),
+                boardRevision.eTag());
+        Entry entry = cache.get(key, k -> encode(loader.get()));
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip()) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(entry.gzip());
+        }
+        return response.body(entry.raw());
+    }
+
+    //entries of older revisions can never be hit again, drop them instead of waiting for expiry
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true,
+            classes = {TaskChangedEvent.class, AllTasksChangedEvent.class})
+    public void onTasksChanged() {
+        cache.invalidateAll();
+    }
+
+    private Entry encode(Object body) {
+        try {
+            byte[] raw = serialize(body);
+            ByteArrayOutputStream gzip = new ByteArrayOutputStream(raw.length / 4 + 64);
+            try (GZIPOutputStream out = new GZIPOutputStream(gzip)) {
+                out.write(raw);
+            }
+            return new Entry(raw, gzip.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] serialize(Object body) throws IOException {
+        for (HttpMessageConverter<?> converter : handlerAdapter.getObject().getMessageConverters()) {
+            if (converter.canWrite(body.getClass(), MediaType.APPLICATION_JSON)) {
+                BufferedOutputMessage message = new BufferedOutputMessage();
+                ((HttpMessageConverter<Object>) converter).write(body, MediaType.APPLICATION_JSON, message);
+                return message.body.toByteArray();
+            }
+        }
+        throw new HttpMessageNotWritableException("No JSON converter for " + body.getClass());
+    }
+
+    private boolean acceptsGzip() {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        if (attributes == null) return false;
+        HttpServletRequest request = attributes.getRequest();
+        return acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    //codings with q-values, q=0 refuses a coding and * stands for every coding that is not listed itself
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        Double gzip = null;
+        Double any = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        q = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = gzip == null ? q : Math.max(gzip, q);
+            } else if (coding.equals("*")) {
+                any = q;
+            }
+        }
+        if (gzip != null) return gzip > 0;
+        return any != null && any > 0;
+    }
+
+    private static class BufferedOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(4096);
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
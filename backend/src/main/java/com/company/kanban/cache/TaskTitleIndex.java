@@ -0,0 +1,169 @@
+package com.company.kanban.cache;
+
+import com.company.kanban.model.dto.TaskSuggestion;
+import com.company.kanban.model.event.AllTasksChangedEvent;
+import com.company.kanban.model.event.TaskChangedEvent;
+import com.company.kanban.model.event.TaskSnapshot;
+import com.company.kanban.repository.TaskRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/*
+ * Case-insensitive title prefix index for the typeahead box. Titles live in a sorted skip list keyed
+ * by (lower-cased title, id), so a prefix lookup is one seek plus a walk over at most limit entries.
+ * Loaded once at startup and kept current from the task change events; like TaskEntityCache an entry
+ * is only replaced by the same or a newer version. A task deleted while a reset reload is running may
+ * show up until its next change.
+ */
+@Component
+public class TaskTitleIndex {
+
+    //skip list node and index levels, hash map node and table slot, key and value objects, boxed longs
+    private static final int ENTRY_OVERHEAD_BYTES = 168;
+
+    private record Key(String normalized, long id) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key other) {
+            int byTitle = normalized.compareTo(other.normalized);
+            return byTitle != 0 ? byTitle : Long.compare(id, other.id);
+        }
+    }
+
+    private final ConcurrentSkipListMap<Key, TaskSuggestion> byTitle = new ConcurrentSkipListMap<>();
+    private final Map<Long, Key> keysById = new ConcurrentHashMap<>();
+    private final AtomicLong titleBytes = new AtomicLong();
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public TaskTitleIndex(TaskRepository taskRepository,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        Gauge.builder("kanban.tasks.title.index.size", keysById, Map::size)
+                .description("Task titles in the typeahead index")
+                .register(meterRegistry);
+        Gauge.builder("kanban.tasks.title.index.bytes.per.title", this, TaskTitleIndex::bytesPerTitle)
+                .description("Estimated heap used per indexed title, strings and structure included")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    //titles starting with prefix, ignoring case, in title order
+    public List<TaskSuggestion> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        List<TaskSuggestion> suggestions = new ArrayList<>(Math.min(limit, 16));
+        for (Map.Entry<Key, TaskSuggestion> entry : byTitle.tailMap(new Key(normalized, Long.MIN_VALUE)).entrySet()) {
+            if (suggestions.size() >= limit || !entry.getKey().normalized().startsWith(normalized)) break;
+            suggestions.add(entry.getValue());
+        }
+        return suggestions;
+    }
+
+    public int size() {
+        return keysById.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<TaskSuggestion> suggestions = taskRepository.streamSuggestionsBy()) {
+                suggestions.forEach(this::put);
+            }
+        });
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskSnapshot current = event.current();
+        if (current != null) {
+            put(new TaskSuggestion(current.id(), current.title(), current.status(), current.version()));
+        } else {
+            remove(event.taskId());
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAllTasksChanged(AllTasksChangedEvent event) {
+        keysById.keySet().forEach(this::remove);
+        load();
+    }
+
+    void put(TaskSuggestion suggestion) {
+        if (suggestion.id() == null || suggestion.title() == null) return;
+
+        keysById.compute(suggestion.id(), (id, oldKey) -> {
+            if (oldKey != null) {
+                TaskSuggestion old = byTitle.get(oldKey);
+                if (old != null && isOlder(suggestion, old)) return oldKey;
+                byTitle.remove(oldKey);
+                titleBytes.addAndGet(-stringBytes(oldKey.normalized(), old != null ? old.title() : null));
+            }
+
+            String normalized = normalize(suggestion.title());
+            //lower-case titles share one string between key and value
+            TaskSuggestion stored = normalized.equals(suggestion.title())
+                    ? new TaskSuggestion(id, normalized, suggestion.status(), suggestion.version())
+                    : suggestion;
+            Key key = new Key(normalized, id);
+            byTitle.put(key, stored);
+            titleBytes.addAndGet(stringBytes(normalized, stored.title()));
+            return key;
+        });
+    }
+
+    void remove(Long id) {
+        keysById.computeIfPresent(id, (taskId, key) -> {
+            TaskSuggestion old = byTitle.remove(key);
+            titleBytes.addAndGet(-stringBytes(key.normalized(), old != null ? old.title() : null));
+            return null;
+        });
+    }
+
+    private double bytesPerTitle() {
+        int size = keysById.size();
+        return size == 0 ? 0 : (double) titleBytes.get() / size + ENTRY_OVERHEAD_BYTES;
+    }
+
+    private static boolean isOlder(TaskSuggestion candidate, TaskSuggestion cached) {
+        return candidate.version() != null && cached.version() != null && candidate.version() < cached.version();
+    }
+
+    private static String normalize(String title) {
+        return title.strip().toLowerCase(Locale.ROOT);
+    }
+
+    //String object plus its backing array, latin-1 titles take one byte per char
+    private static long stringBytes(String normalized, String title) {
+        long bytes = stringBytes(normalized);
+        if (title != null && title != normalized) bytes += stringBytes(title);
+        return bytes;
+    }
+
+    private static long stringBytes(String value) {
+        boolean latin1 = value.chars().allMatch(c -> c < 256);
+        return 24 + 16 + (long) value.length() * (latin1 ? 1 : 2);
+    }
+}
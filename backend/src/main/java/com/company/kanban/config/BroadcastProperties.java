@@ -0,0 +1,11 @@
+package com.company.kanban.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+//a /topic/tasks frame goes out flush-interval after its first event, or as soon as it holds max-frame-events
+@ConfigurationProperties("kanban.websocket")
+public record BroadcastProperties(@DefaultValue("50ms") Duration flushInterval,
+                                  @DefaultValue("200") int maxFrameEvents) {}
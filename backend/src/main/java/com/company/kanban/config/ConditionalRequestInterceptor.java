@@ -0,0 +1,116 @@
+package com.company.kanban.config;
+
+import com.company.kanban.cache.BoardRevision;
+import com.company.kanban.cache.TaskEntityCache;
+import com.company.kanban.model.entity.Task;
+import com.company.kanban.model.event.TaskSnapshot;
+import com.company.kanban.service.interfaces.TaskService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.Optional;
+
+/*
+ * Answers conditional requests before the controller runs: If-None-Match on the task listings and the
+ * board is compared with the board revision, on a single task with the version of the cached entity.
+ * If-Match on PUT/PATCH rejects a stale write with 412 before the body is read. A task that is not
+ * cached falls through to the controller, which sets the ETag itself (and Spring answers 304 there).
+ */
+@Component
+public class ConditionalRequestInterceptor implements HandlerInterceptor {
+
+    private final BoardRevision boardRevision;
+    private final TaskEntityCache taskEntityCache;
+    private final TaskService taskService;
+
+    public ConditionalRequestInterceptor(BoardRevision boardRevision,
+                                         TaskEntityCache taskEntityCache,
+                                         TaskService taskService) {
+        this.boardRevision = boardRevision;
+        this.taskEntityCache = taskEntityCache;
+        this.taskService = taskService;
+    }
+
+    public static String taskETag(Long version) {
+        return version == null ? null : "\"v" + version + "\"";
+    }
+
+    //version from a single strong task tag, null for *, lists or anything else
+    public static Long versionOf(String ifMatch) {
+        if (ifMatch == null) return null;
+        String tag = ifMatch.trim();
+        if (!tag.startsWith("\"v") || !tag.endsWith("\"") || tag.length() < 4) return null;
+        try {
+            return Long.valueOf(tag.substring(2, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Long id = taskId(request);
+        String method = request.getMethod();
+
+        if (id == null) {
+            if (!"GET".equals(method) && !"HEAD".equals(method)) return true;
+
+            String eTag = boardRevision.eTag();
+            response.setHeader(HttpHeaders.ETAG, eTag);
+            return !notModified(request, response, eTag);
+        }
+
+        if ("GET".equals(method) || "HEAD".equals(method)) {
+            String eTag = taskEntityCache.peek(id).map(TaskSnapshot::version).map(ConditionalRequestInterceptor::taskETag).orElse(null);
+            return eTag == null || !notModified(request, response, eTag);
+        }
+
+        String ifMatch = request.getHeader(HttpHeaders.IF_MATCH);
+        if (ifMatch != null && ("PUT".equals(method) || "PATCH".equals(method))) {
+            Optional<Long> version = taskEntityCache.peek(id).map(TaskSnapshot::version)
+                    .or(() -> taskService.getTaskEntity(id).map(Task::getVersion));
+            if (version.isEmpty()) return true;
+
+            if (!matches(ifMatch, taskETag(version.get()))) {
+                response.setHeader(HttpHeaders.ETAG, taskETag(version.get()));
+                response.setStatus(HttpServletResponse.SC_PRECONDITION_FAILED);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean notModified(HttpServletRequest request, HttpServletResponse response, String eTag) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null || !matches(ifNoneMatch, eTag)) return false;
+
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        return true;
+    }
+
+    //header may hold a list of tags or *, weak tags never match these strong validators
+    private boolean matches(String header, String eTag) {
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(eTag)) return true;
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Long taskId(HttpServletRequest request) {
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables == null || variables.get("id") == null) return null;
+        try {
+            return Long.valueOf(variables.get("id"));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
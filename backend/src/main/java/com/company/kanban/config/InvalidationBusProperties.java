@@ -0,0 +1,14 @@
+package com.company.kanban.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("kanban.cache.bus")
+public record InvalidationBusProperties(@DefaultValue("true") boolean enabled,
+                                        @DefaultValue("task_invalidation") String channel,
+                                        @DefaultValue("50ms") Duration flushInterval,
+                                        @DefaultValue("500ms") Duration pollTimeout,
+                                        @DefaultValue("1s") Duration reconnectDelay,
+                                        @DefaultValue("10000") int maxPending) {}
@@ -0,0 +1,16 @@
+package com.company.kanban.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+//gap-timeout is how long a publisher waits for a missing id to commit, late-row-window how long it still
+//looks for such an id afterwards, retention has to stay well above both
+@ConfigurationProperties("kanban.outbox")
+public record OutboxProperties(@DefaultValue("250ms") Duration pollInterval,
+                               @DefaultValue("500") int batchSize,
+                               @DefaultValue("2s") Duration gapTimeout,
+                               @DefaultValue("1m") Duration lateRowWindow,
+                               @DefaultValue("1h") Duration retention,
+                               @DefaultValue("10000") int dedupSize) {}
@@ -0,0 +1,10 @@
+package com.company.kanban.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("kanban.cache.task")
+public record TaskCacheProperties(@DefaultValue("10000") long maximumSize,
+                                  @DefaultValue("10m") Duration expireAfterWrite) {}
@@ -0,0 +1,11 @@
+package com.company.kanban.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+//serialized task pages, each entry holds a page twice (plain and gzip)
+@ConfigurationProperties("kanban.cache.responses")
+public record TaskResponseCacheProperties(@DefaultValue("256") long maximumSize,
+                                          @DefaultValue("15m") Duration expireAfterWrite) {}
@@ -0,0 +1,169 @@
+package com.company.kanban.config;
+
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/*
+ * Checks subscriptions to /topic/tasks/** and keeps count of them, so TaskWebSocketController only
+ * builds messages somebody receives. The status and priority headers of a SUBSCRIBE to
+ * /topic/tasks/filtered become a selector the simple broker evaluates per message, e.g.
+ * "status: TO_DO,DONE" and "priority: HIGH". A header lists the values a subscriber wants, several
+ * headers must all match. Board-wide messages (bulk updates, imports) always match, a task that moved
+ * out of a wanted status or priority matches through its previous one. Selectors sent by clients are
+ * dropped on every destination, only ones built here from known enum names reach the broker.
+ */
+@Component
+public class TaskSubscriptionInterceptor implements ChannelInterceptor {
+
+    public static final String TOPIC = "/topic/tasks";
+    public static final String SELECTOR_HEADER = "selector";
+    public static final String STATUS_HEADER = "status";
+    public static final String PRIORITY_HEADER = "priority";
+    public static final String PREVIOUS_STATUS_HEADER = "previousStatus";
+    public static final String PREVIOUS_PRIORITY_HEADER = "previousPriority";
+    public static final String SCOPE_HEADER = "scope";
+    public static final String BOARD_SCOPE = "board";
+
+    public static final String FILTERED_TOPIC = TOPIC + "/filtered";
+
+    private static final String STATUS_PREFIX = TOPIC + "/status/";
+
+    //session id to subscription id to destination, and the number of subscriptions per destination
+    private final Map<String, Map<String, String>> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Integer> subscribers = new ConcurrentHashMap<>();
+
+    public static String statusDestination(Status status) {
+        return STATUS_PREFIX + status.name();
+    }
+
+    public static String taskDestination(Long taskId) {
+        return TOPIC + "/" + taskId;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        if (accessor.getCommand() != StompCommand.SUBSCRIBE) return message;
+        accessor.removeNativeHeader(SELECTOR_HEADER);
+
+        String destination = accessor.getDestination();
+        if (isTaskDestination(destination)) {
+            checkDestination(destination);
+            String selector = selector(
+                    values(accessor.getFirstNativeHeader(STATUS_HEADER), Status::valueOf, "status"),
+                    values(accessor.getFirstNativeHeader(PRIORITY_HEADER), Priority::valueOf, "priority"));
+            if (selector != null) {
+                if (!destination.equals(FILTERED_TOPIC))
+                    throw new MessagingException("Status and priority filters are only taken on " + FILTERED_TOPIC);
+                accessor.setNativeHeader(SELECTOR_HEADER, selector);
+            }
+        }
+        return MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+    }
+
+    public boolean hasSubscribers(String destination) {
+        return subscribers.containsKey(destination);
+    }
+
+    //published once the SUBSCRIBE passed preSend
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String destination = accessor.getDestination();
+        if (accessor.getSessionId() == null || accessor.getSubscriptionId() == null || !isTaskDestination(destination)) return;
+        String replaced = sessions.computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), destination);
+        subscribers.merge(destination, 1, Integer::sum);
+        if (replaced != null) release(replaced);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> subscriptions = accessor.getSessionId() != null ? sessions.get(accessor.getSessionId()) : null;
+        if (subscriptions == null || accessor.getSubscriptionId() == null) return;
+        String destination = subscriptions.remove(accessor.getSubscriptionId());
+        if (destination != null) release(destination);
+    }
+
+    //may be published more than once for a session
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> subscriptions = sessions.remove(event.getSessionId());
+        if (subscriptions != null) subscriptions.values().forEach(this::release);
+    }
+
+    private void release(String destination) {
+        subscribers.computeIfPresent(destination, (key, count) -> count == 1 ? null : count - 1);
+    }
+
+    private static boolean isTaskDestination(String destination) {
+        return destination != null && (destination.equals(TOPIC) || destination.startsWith(TOPIC + "/"));
+    }
+
+    //null when nothing is filtered
+    public static String selector(Set<Status> statuses, Set<Priority> priorities) {
+        List<String> clauses = new ArrayList<>();
+        if (!statuses.isEmpty()) clauses.add(clause(statuses, STATUS_HEADER, PREVIOUS_STATUS_HEADER));
+        if (!priorities.isEmpty()) clauses.add(clause(priorities, PRIORITY_HEADER, PREVIOUS_PRIORITY_HEADER));
+        if (clauses.isEmpty()) return null;
+        return "headers." + SCOPE_HEADER + " == '" + BOARD_SCOPE + "' or (" + String.join(" and ", clauses) + ")";
+    }
+
+    private static String clause(Set<? extends Enum<?>> wanted, String header, String previousHeader) {
+        List<String> matches = new ArrayList<>();
+        for (Enum<?> value : wanted) {
+            matches.add("headers." + header + " == '" + value.name() + "'");
+            matches.add("headers." + previousHeader + " == '" + value.name() + "'");
+        }
+        return "(" + String.join(" or ", matches) + ")";
+    }
+
+    private static <E extends Enum<E>> Set<E> values(String header, Function<String, E> parse, String name) {
+        Set<E> values = new LinkedHashSet<>();
+        if (header == null) return values;
+        for (String text : header.split(",")) {
+            if (text.isBlank()) continue;
+            try {
+                values.add(parse.apply(text.trim()));
+            } catch (IllegalArgumentException e) {
+                throw new MessagingException("Unknown " + name + " " + text.trim());
+            }
+        }
+        return values;
+    }
+
+    //the topic itself, /topic/tasks/filtered, /topic/tasks/status/{status} or /topic/tasks/{id}
+    private static void checkDestination(String destination) {
+        if (destination.equals(TOPIC) || destination.equals(FILTERED_TOPIC)) return;
+        try {
+            if (destination.startsWith(STATUS_PREFIX)) {
+                Status.valueOf(destination.substring(STATUS_PREFIX.length()));
+            } else {
+                Long.parseLong(destination.substring(TOPIC.length() + 1));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new MessagingException("Unknown task destination " + destination);
+        }
+    }
+}
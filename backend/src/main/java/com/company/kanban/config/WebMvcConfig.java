@@ -0,0 +1,21 @@
+package com.company.kanban.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final ConditionalRequestInterceptor conditionalRequestInterceptor;
+
+    public WebMvcConfig(ConditionalRequestInterceptor conditionalRequestInterceptor) {
+        this.conditionalRequestInterceptor = conditionalRequestInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(conditionalRequestInterceptor)
+                .addPathPatterns("/api/tasks", "/api/tasks/{id}", "/api/board");
+    }
+}
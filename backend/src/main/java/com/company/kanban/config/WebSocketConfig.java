@@ -1,6 +1,7 @@
 package com.company.kanban.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
@@ -10,16 +11,29 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final TaskSubscriptionInterceptor taskSubscriptionInterceptor;
+
+    public WebSocketConfig(TaskSubscriptionInterceptor taskSubscriptionInterceptor) {
+        this.taskSubscriptionInterceptor = taskSubscriptionInterceptor;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        registry.enableSimpleBroker("/topic");
+        //selectors are off by default, only the ones TaskSubscriptionInterceptor builds are let through
+        registry.enableSimpleBroker("/topic")
+                .setSelectorHeaderName(TaskSubscriptionInterceptor.SELECTOR_HEADER);
         registry.setApplicationDestinationPrefixes("/app");
     }
 
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(taskSubscriptionInterceptor);
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws")
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,12 @@
+package com.company.kanban.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+//opt-in, every PATCH waits up to window for later PATCHes to the same task before one write goes out
+@ConfigurationProperties("kanban.tasks.coalescing")
+public record WriteCoalescingProperties(@DefaultValue("false") boolean enabled,
+                                        @DefaultValue("100ms") Duration window,
+                                        @DefaultValue("50") int maxMerged) {}
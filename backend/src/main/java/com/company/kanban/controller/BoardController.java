@@ -0,0 +1,36 @@
+package com.company.kanban.controller;
+
+import com.company.kanban.model.dto.BoardSnapshot;
+import com.company.kanban.service.implementations.RateLimiterServiceImpl;
+import com.company.kanban.service.interfaces.BoardService;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@SecurityRequirement(name = "bearerAuth")
+@RequestMapping("/api/board")
+public class BoardController {
+
+    private BoardService boardService;
+    private RateLimiterServiceImpl rateLimiterService;
+    public BoardController(BoardService boardService, RateLimiterServiceImpl rateLimiterService) {
+        this.boardService = boardService;
+        this.rateLimiterService = rateLimiterService;
+    }
+
+    //all columns with their first size tasks and counts, one rate limiter token instead of one per column
+    @GetMapping
+    public ResponseEntity<BoardSnapshot> getBoard(@RequestParam(defaultValue = "10") int size) {
+        return rateLimiterService.performIfAllowed(() -> {
+            try {
+                return ResponseEntity.ok(boardService.getBoard(size));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        });
+    }
+}
@@ -1,28 +1,48 @@
 package com.company.kanban.controller;
 
+import com.company.kanban.cache.TaskPageKey;
+import com.company.kanban.cache.TaskCounters;
+import com.company.kanban.cache.TaskResponseCache;
+import com.company.kanban.cache.TaskTitleIndex;
+import com.company.kanban.config.ConditionalRequestInterceptor;
+import com.company.kanban.model.dto.BulkTaskUpdateRequest;
+import com.company.kanban.model.dto.BulkTaskUpdateResult;
+import com.company.kanban.model.dto.TaskCursorPage;
 import com.company.kanban.model.dto.TaskDTO;
+import com.company.kanban.model.dto.TaskImportResult;
+import com.company.kanban.model.dto.TaskSearchPage;
+import com.company.kanban.model.dto.TaskSlice;
+import com.company.kanban.model.dto.TaskStats;
+import com.company.kanban.model.dto.TaskSuggestion;
 import com.company.kanban.model.entity.Task;
 import com.company.kanban.model.enums.Priority;
 import com.company.kanban.model.enums.Status;
 import com.company.kanban.service.implementations.RateLimiterServiceImpl;
+import com.company.kanban.service.interfaces.TaskExportService;
+import com.company.kanban.service.interfaces.TaskImportService;
 import com.company.kanban.service.interfaces.TaskService;
-import com.company.kanban.mapper.TaskAutoMapper;
+import com.company.kanban.service.interfaces.TaskWriteCoalescer;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.Refill;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.IOException;
+import java.io.InputStream;
 import java.time.Duration;
-import java.util.Optional;
+import java.util.List;
 import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
@@ -34,13 +54,29 @@ public class TaskController {
 
     private TaskService taskService;
     private RateLimiterServiceImpl rateLimiterService;
-    public TaskController(TaskService taskService, RateLimiterServiceImpl rateLimiterService) {
+    private TaskResponseCache taskResponseCache;
+    private TaskExportService taskExportService;
+    private TaskImportService taskImportService;
+    private TaskTitleIndex taskTitleIndex;
+    private TaskCounters taskCounters;
+    private TaskWriteCoalescer taskWriteCoalescer;
+    public TaskController(TaskService taskService, RateLimiterServiceImpl rateLimiterService,
+                          TaskResponseCache taskResponseCache, TaskExportService taskExportService,
+                          TaskImportService taskImportService, TaskTitleIndex taskTitleIndex,
+                          TaskCounters taskCounters, TaskWriteCoalescer taskWriteCoalescer) {
         this.taskService = taskService;
         this.rateLimiterService = rateLimiterService;
+        this.taskResponseCache = taskResponseCache;
+        this.taskExportService = taskExportService;
+        this.taskImportService = taskImportService;
+        this.taskTitleIndex = taskTitleIndex;
+        this.taskCounters = taskCounters;
+        this.taskWriteCoalescer = taskWriteCoalescer;
     }
 
+    //body is the serialized Page<TaskDTO>, written from the response byte cache
     @GetMapping
-    public ResponseEntity<Page<TaskDTO>> getAllTasks(
+    public ResponseEntity<byte[]> getAllTasks(
             @RequestParam(required = false) Status status,
             @RequestParam(required = false) Priority priority,
             @RequestParam(defaultValue = "0") int page,
@@ -50,8 +86,119 @@ public class TaskController {
 
         return rateLimiterService.performIfAllowed(() -> {
             Pageable pageable = taskService.buildPageable(page, size, sortParam);
-            Page<TaskDTO> tasksPage = taskService.getTasks(status, priority, pageable);
-            return ResponseEntity.ok(tasksPage);
+            return taskResponseCache.respond(new TaskPageKey.Filter(status, priority), pageable,
+                    () -> taskService.getTasks(status, priority, pageable));
+        });
+    }
+
+    //slice mode, no count query, estimatedTotal comes from planner statistics when asked for
+    //with after present the cursor mode answers, it never counts either
+    @GetMapping(params = {"count=false", "!after"})
+    public ResponseEntity<TaskSlice> getTaskSlice(
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) Priority priority,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(name = "sort", required = false) String sortParam,
+            @RequestParam(defaultValue = "false") boolean estimate)
+    {
+
+        return rateLimiterService.performIfAllowed(() -> {
+            Pageable pageable = taskService.buildPageable(page, size, sortParam);
+            Slice<TaskDTO> slice = taskService.getTaskSlice(status, priority, pageable);
+            Long estimatedTotal = estimate ? taskService.estimateTaskCount(status, priority) : null;
+            return ResponseEntity.ok(new TaskSlice(slice.getContent(), slice.getNumber(), slice.getSize(),
+                    slice.hasNext(), estimatedTotal));
+        });
+    }
+
+    //cursor mode, selected by the presence of after (empty for the first page)
+    @GetMapping(params = "after")
+    public ResponseEntity<TaskCursorPage> getTasksAfter(
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) Priority priority,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(name = "sort", required = false) String sortParam)
+    {
+
+        return rateLimiterService.performIfAllowed(() -> {
+            try {
+                return ResponseEntity.ok(taskService.getTasksAfter(status, priority, sortParam, after, size));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        });
+    }
+
+    //ranked full-text search over title and description, paged with the next cursor of the previous page
+    @GetMapping("/search")
+    public ResponseEntity<TaskSearchPage> searchTasks(
+            @RequestParam String q,
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) Priority priority,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size)
+    {
+
+        return rateLimiterService.performIfAllowed(() -> {
+            try {
+                return ResponseEntity.ok(taskService.searchTasks(q, status, priority, after, size));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        });
+    }
+
+    //typeahead for the quick-jump box, answered from memory without touching the database
+    @GetMapping("/suggest")
+    public ResponseEntity<List<TaskSuggestion>> suggestTasks(@RequestParam String prefix,
+                                                             @RequestParam(defaultValue = "10") int limit) {
+        return rateLimiterService.performIfAllowed(() -> {
+            if (prefix.isBlank() || limit < 1 || limit > 50)
+                return ResponseEntity.badRequest().build();
+            return ResponseEntity.ok(taskTitleIndex.suggest(prefix, limit));
+        });
+    }
+
+    //counts per status and priority from memory, no count(*) involved
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStats> getTaskStats() {
+        return rateLimiterService.performIfAllowed(() -> ResponseEntity.ok(taskCounters.stats()));
+    }
+
+    //every task as NDJSON, streamed while it is read, gzip=true sends a tasks.ndjson.gz download
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(defaultValue = "false") boolean gzip) {
+        return rateLimiterService.performIfAllowed(() -> {
+            if (gzip) {
+                return ResponseEntity.ok()
+                        .contentType(MediaType.parseMediaType("application/gzip"))
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.ndjson.gz\"")
+                        .body(out -> {
+                            GZIPOutputStream gzipOut = new GZIPOutputStream(out, 64 * 1024);
+                            taskExportService.exportNdjson(gzipOut);
+                            gzipOut.finish();
+                        });
+            }
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.ndjson\"")
+                    .body(taskExportService::exportNdjson);
+        });
+    }
+
+    //bulk load from NDJSON or CSV, the body is read as a stream while rows are copied in
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<TaskImportResult> importTasks(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                        InputStream body) {
+        return rateLimiterService.performIfAllowed(() -> {
+            try {
+                return ResponseEntity.ok(taskImportService.importTasks(body, MediaType.parseMediaType(contentType)));
+            } catch (IllegalArgumentException e) {
+                //same shape as a partial import, the message says what to fix (and on which line if it has one)
+                return ResponseEntity.badRequest().body(TaskImportResult.refused(e.getMessage()));
+            }
         });
     }
 
@@ -59,7 +206,9 @@ public class TaskController {
     public ResponseEntity<EntityModel<TaskDTO>> getTaskById(@PathVariable Long id) {
         return rateLimiterService.performIfAllowed(() ->
                 taskService.getTaskById(id)
-                        .map(task -> ResponseEntity.ok(EntityModel.of(task)))
+                        .map(task -> ResponseEntity.ok()
+                                .eTag(ConditionalRequestInterceptor.taskETag(task.getVersion()))
+                                .body(EntityModel.of(task)))
                         .orElse(ResponseEntity.notFound().build())
         );
     }
@@ -80,31 +229,45 @@ public class TaskController {
                                                            @Valid @RequestBody Task task) {
         return rateLimiterService.performIfAllowed(()->{
             TaskDTO updated = taskService.updateTask(task);
-            return ResponseEntity.ok(EntityModel.of(updated));
+            return ResponseEntity.ok()
+                    .eTag(ConditionalRequestInterceptor.taskETag(updated.getVersion()))
+                    .body(EntityModel.of(updated));
         });
 
     }
 
+    //one UPDATE for the whole edit, the expected version comes from the patch body or If-Match,
+    //with kanban.tasks.coalescing.enabled rapid patches to the same task share that UPDATE
     @PatchMapping(value = "/{id}", consumes = "application/mergepatch+json")
     public ResponseEntity<EntityModel<TaskDTO>> partialUpdateTask(@PathVariable Long id,
-                                                                  @RequestBody String patchJson) throws IOException {
+                                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                                  @RequestBody String patchJson) {
         return rateLimiterService.performIfAllowed(()->{
-            Optional<TaskDTO> existing = taskService.getTaskById(id);
-            if (existing.isEmpty())
-                return ResponseEntity.notFound().build();
+            try {
+                return taskWriteCoalescer.patchTask(id, patchJson, ConditionalRequestInterceptor.versionOf(ifMatch))
+                        .map(updated -> ResponseEntity.ok()
+                                .eTag(ConditionalRequestInterceptor.taskETag(updated.getVersion()))
+                                .body(EntityModel.of(updated)))
+                        .orElse(ResponseEntity.notFound().build());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            } catch (OptimisticLockException e) {
+                return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
+            }
+        });
 
-            Task task = TaskAutoMapper.convertToEntity(existing.get());
-            TaskDTO updated;
+    }
 
+    //multi-select move, partial success is still 200, failed lists the ids that were not changed
+    @PatchMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkTaskUpdateResult> bulkUpdateTasks(@Valid @RequestBody BulkTaskUpdateRequest request) {
+        return rateLimiterService.performIfAllowed(() -> {
             try {
-                updated = taskService.partialUpdateTask(task, patchJson);
-            } catch (IOException e) {
-                throw new RuntimeException(e);
+                return ResponseEntity.ok(taskService.bulkUpdate(request));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
             }
-
-            return ResponseEntity.ok(EntityModel.of(updated));
         });
-
     }
 
     @DeleteMapping("/{id}")
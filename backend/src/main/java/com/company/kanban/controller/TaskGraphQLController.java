@@ -1,20 +1,32 @@
 package com.company.kanban.controller;
 
+import com.company.kanban.cache.TaskCounters;
+import com.company.kanban.mapper.TaskDtoAssembler;
+import com.company.kanban.model.dto.BoardSnapshot;
+import com.company.kanban.model.dto.BulkTaskUpdateRequest;
+import com.company.kanban.model.dto.BulkTaskUpdateResult;
 import com.company.kanban.model.dto.TaskDTO;
+import com.company.kanban.model.dto.TaskSearchPage;
+import com.company.kanban.model.dto.TaskStats;
 import com.company.kanban.model.entity.Task;
 import com.company.kanban.model.enums.Priority;
 import com.company.kanban.model.enums.Status;
+import com.company.kanban.service.interfaces.BoardService;
 import com.company.kanban.service.interfaces.TaskService;
-import com.company.kanban.mapper.TaskAutoMapper;
+import graphql.GraphQLError;
+import graphql.schema.DataFetchingEnvironment;
 import lombok.AllArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.GraphQlExceptionHandler;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.execution.ErrorType;
 import org.springframework.stereotype.Controller;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Controller
@@ -22,6 +34,9 @@ import java.util.Optional;
 public class TaskGraphQLController {
 
     private final TaskService taskService;
+    private final BoardService boardService;
+    private final TaskCounters taskCounters;
+    private final TaskDtoAssembler taskDtoAssembler;
 
     @QueryMapping
     public List<TaskDTO> tasks(@Argument Status status,
@@ -31,13 +46,33 @@ public class TaskGraphQLController {
         Pageable pageable = taskService.buildPageable(page != null ? page : 0,
                 size != null ? size : 10,
                 null);
-        Page<TaskDTO> tasksPage = taskService.getTasks(status, priority, pageable);
-        return tasksPage.getContent();
+        //the schema has no links and no total, so neither is built
+        return taskService.getTasksWithoutLinks(status, priority, pageable).getContent();
     }
 
     @QueryMapping
     public Optional<TaskDTO> task(@Argument Long id) {
-        return taskService.getTaskById(id);
+        //the schema has no links, so none are built
+        return taskService.getTaskEntity(id).map(task -> taskDtoAssembler.toModel(task, false));
+    }
+
+    @QueryMapping
+    public TaskSearchPage searchTasks(@Argument String q,
+                                      @Argument Status status,
+                                      @Argument Priority priority,
+                                      @Argument String after,
+                                      @Argument Integer size) {
+        return taskService.searchTasks(q, status, priority, after, size != null ? size : 10);
+    }
+
+    @QueryMapping
+    public TaskStats taskStats() {
+        return taskCounters.stats();
+    }
+
+    @QueryMapping
+    public BoardSnapshot board(@Argument Integer size) {
+        return boardService.getBoard(size != null ? size : 10);
     }
 
     @MutationMapping
@@ -60,19 +95,20 @@ public class TaskGraphQLController {
                               @Argument String description,
                               @Argument Status status,
                               @Argument Priority priority) {
-        Optional<TaskDTO> existingTaskOpt = taskService.getTaskById(id);
-        if (existingTaskOpt.isEmpty()) {
-            return null;
-        }
+        Map<String, Object> columns = new LinkedHashMap<>();
+        if (title != null) columns.put("title", title);
+        if (description != null) columns.put("description", description);
+        if (status != null) columns.put("status", status);
+        if (priority != null) columns.put("priority", priority);
 
-        Task task = TaskAutoMapper.convertToEntity(existingTaskOpt.get());
-
-        if (title != null) task.setTitle(title);
-        if (description != null) task.setDescription(description);
-        if (status != null) task.setStatus(status);
-        if (priority != null) task.setPriority(priority);
+        return taskService.patchTask(id, columns, null).orElse(null);
+    }
 
-        return taskService.updateTask(task);
+    @MutationMapping
+    public BulkTaskUpdateResult bulkUpdateTasks(@Argument List<BulkTaskUpdateRequest.Item> items,
+                                                @Argument Status status,
+                                                @Argument Priority priority) {
+        return taskService.bulkUpdate(new BulkTaskUpdateRequest(items, status, priority));
     }
 
     @MutationMapping
@@ -84,4 +120,15 @@ public class TaskGraphQLController {
             return false;
         }
     }
+
+    //arguments the services turn down, e.g. a size out of range or a bad cursor, what REST answers with a 400
+    @GraphQlExceptionHandler
+    public GraphQLError handleIllegalArgument(IllegalArgumentException e, DataFetchingEnvironment environment) {
+        return GraphQLError.newError()
+                .errorType(ErrorType.BAD_REQUEST)
+                .message(e.getMessage())
+                .path(environment.getExecutionStepInfo().getPath())
+                .location(environment.getField().getSourceLocation())
+                .build();
+    }
 }
\ No newline at end of file
@@ -1,49 +1,259 @@
 package com.company.kanban.controller;
 
-import com.company.kanban.model.dto.TaskDTO;
+import com.company.kanban.config.BroadcastProperties;
+import com.company.kanban.config.TaskSubscriptionInterceptor;
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+import com.company.kanban.model.event.TaskEvent;
+import com.company.kanban.model.event.TaskSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
 
-import java.util.Date;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
+import static com.company.kanban.config.TaskSubscriptionInterceptor.BOARD_SCOPE;
+import static com.company.kanban.config.TaskSubscriptionInterceptor.FILTERED_TOPIC;
+import static com.company.kanban.config.TaskSubscriptionInterceptor.PREVIOUS_PRIORITY_HEADER;
+import static com.company.kanban.config.TaskSubscriptionInterceptor.PREVIOUS_STATUS_HEADER;
+import static com.company.kanban.config.TaskSubscriptionInterceptor.PRIORITY_HEADER;
+import static com.company.kanban.config.TaskSubscriptionInterceptor.SCOPE_HEADER;
+import static com.company.kanban.config.TaskSubscriptionInterceptor.STATUS_HEADER;
+import static com.company.kanban.config.TaskSubscriptionInterceptor.TOPIC;
+import static com.company.kanban.config.TaskSubscriptionInterceptor.statusDestination;
+import static com.company.kanban.config.TaskSubscriptionInterceptor.taskDestination;
+
+/*
+ * Sends task events to /topic/tasks as JSON arrays, one frame per flush interval instead of one per change.
+ * Within a frame only the newest state of a task is kept: a later update replaces an earlier create or
+ * update, a delete replaces an update and cancels a create. The surviving event moves to the end of
+ * the frame, so it still comes after any bulk update or import it followed.
+ *
+ * The whole frame goes to /topic/tasks as one message. /topic/tasks/status/{status} gets the events of
+ * the frame that concern its column, a moved task concerns the old one as well, board-wide events
+ * concern every column. Every task gets its own events on /topic/tasks/{id}. Only /topic/tasks/filtered
+ * splits the frame, into one message per route (the status and priority a task has and had, or the
+ * whole board) with the route as headers for the selectors of TaskSubscriptionInterceptor.
+ */
 @Controller
-public class TaskWebSocketController {
+public class TaskWebSocketController implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskWebSocketController.class);
 
     private final SimpMessagingTemplate messagingTemplate;
+    private final TaskSubscriptionInterceptor subscriptions;
+    private final BroadcastProperties properties;
+    private final Object lock = new Object();
+    private final Semaphore firstEvent = new Semaphore(0);
+    private final Semaphore frameFull = new Semaphore(0);
+
+    //task id for single-task events, the event itself for bulk updates and imports
+    private Map<Object, TaskEvent> pending = new LinkedHashMap<>();
+
+    private final Counter frames;
+    private final Counter messages;
+    private final Counter events;
+    private final Counter superseded;
+    private final DistributionSummary frameSize;
 
-    public TaskWebSocketController(SimpMessagingTemplate messagingTemplate) {
+    private volatile boolean running;
+    private Thread flusherThread;
+
+    public TaskWebSocketController(SimpMessagingTemplate messagingTemplate,
+                                   TaskSubscriptionInterceptor subscriptions,
+                                   BroadcastProperties properties,
+                                   MeterRegistry meterRegistry) {
         this.messagingTemplate = messagingTemplate;
+        this.subscriptions = subscriptions;
+        this.properties = properties;
+        this.frames = meterRegistry.counter("kanban.websocket.frames");
+        this.messages = meterRegistry.counter("kanban.websocket.messages");
+        this.events = meterRegistry.counter("kanban.websocket.events");
+        this.superseded = meterRegistry.counter("kanban.websocket.events.superseded");
+        this.frameSize = DistributionSummary.builder("kanban.websocket.frame.size").register(meterRegistry);
+    }
+
+    public void broadcast(TaskEvent event) {
+        boolean first;
+        boolean full;
+        synchronized (lock) {
+            first = pending.isEmpty();
+            add(event);
+            full = pending.size() == properties.maxFrameEvents();
+        }
+        if (first) firstEvent.release();
+        if (full) frameFull.release();
     }
 
+    private void add(TaskEvent event) {
+        if (event.taskId() == null) {
+            pending.put(event, event);
+            return;
+        }
 
-    public void notifyTaskCreated(TaskDTO task) {
-        messagingTemplate.convertAndSend("/topic/tasks",
-                createNotification("CREATE", task));
+        TaskEvent earlier = pending.remove(event.taskId());
+        if (earlier == null) {
+            pending.put(event.taskId(), event);
+            return;
+        }
+
+        superseded.increment();
+        if (event.type() == TaskEvent.Type.DELETE && earlier.type() == TaskEvent.Type.CREATE) {
+            //subscribers never saw the task
+            superseded.increment();
+        } else if (event.type() == TaskEvent.Type.UPDATE && earlier.type() == TaskEvent.Type.CREATE) {
+            pending.put(event.taskId(), earlier.withTask(event.task()));
+        } else {
+            pending.put(event.taskId(), event.replacing(earlier));
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusherThread = Thread.ofVirtual().name("task-broadcast-flusher").start(this::flushLoop);
     }
 
+    @Override
+    public void stop() {
+        running = false;
+        if (flusherThread != null) flusherThread.interrupt();
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.debug("Dropped the last task events on shutdown", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
 
-    public void notifyTaskUpdated(TaskDTO task) {
-        messagingTemplate.convertAndSend("/topic/tasks",
-                createNotification("UPDATE", task));
+    private void flushLoop() {
+        while (running) {
+            try {
+                firstEvent.acquire();
+                //let the frame fill up unless it is full already
+                frameFull.tryAcquire(properties.flushInterval().toMillis(), TimeUnit.MILLISECONDS);
+                frameFull.drainPermits();
+                flush();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("Failed to broadcast task events", e);
+            }
+        }
     }
 
+    private void flush() {
+        List<TaskEvent> frame;
+        synchronized (lock) {
+            if (pending.isEmpty()) return;
+            frame = new ArrayList<>(pending.values());
+            pending = new LinkedHashMap<>();
+        }
 
-    public void notifyTaskDeleted(Long taskId) {
-        Map<String, Object> notification = new HashMap<>();
-        notification.put("type", "DELETE");
-        notification.put("taskId", taskId);
-        notification.put("timestamp", new Date());
+        send(TOPIC, frame, null);
 
-        messagingTemplate.convertAndSend("/topic/tasks", notification);
+        Map<Status, List<TaskEvent>> columns = new EnumMap<>(Status.class);
+        for (TaskEvent event : frame) {
+            for (Status status : Route.of(event).statuses()) {
+                columns.computeIfAbsent(status, key -> new ArrayList<>()).add(event);
+            }
+        }
+        columns.forEach((status, column) -> send(statusDestination(status), column, null));
+
+        if (subscriptions.hasSubscribers(FILTERED_TOPIC)) sendFiltered(frame);
+
+        for (TaskEvent event : frame) {
+            if (event.taskId() != null) {
+                send(taskDestination(event.taskId()), List.of(event), null);
+            } else if (event.type() == TaskEvent.Type.BULK_UPDATE) {
+                //no eventId, the copies of one bulk update are different messages to a client on several tasks
+                for (TaskSnapshot task : event.tasks()) {
+                    send(taskDestination(task.id()), List.of(TaskEvent.updated(task).delivered(null, event.timestamp())), null);
+                }
+            }
+        }
+
+        frames.increment();
+        events.increment(frame.size());
+        frameSize.record(frame.size());
+    }
+
+    //one message per route, board-wide events keep their place and only events of different tasks between them are regrouped
+    private void sendFiltered(List<TaskEvent> frame) {
+        Map<Route, List<TaskEvent>> groups = new LinkedHashMap<>();
+        for (TaskEvent event : frame) {
+            Route route = Route.of(event);
+            if (!groups.isEmpty() && route.isBoard() != groups.containsKey(Route.BOARD)) {
+                groups.forEach((key, group) -> send(FILTERED_TOPIC, group, key.headers()));
+                groups = new LinkedHashMap<>();
+            }
+            groups.computeIfAbsent(route, key -> new ArrayList<>()).add(event);
+        }
+        groups.forEach((key, group) -> send(FILTERED_TOPIC, group, key.headers()));
+    }
+
+    //nothing is serialized for a destination nobody subscribed to
+    private void send(String destination, List<TaskEvent> events, Map<String, Object> headers) {
+        if (!subscriptions.hasSubscribers(destination)) return;
+        messagingTemplate.convertAndSend(destination, events, headers);
+        messages.increment();
     }
 
-    private Map<String, Object> createNotification(String type, TaskDTO task) {
-        Map<String, Object> notification = new HashMap<>();
-        notification.put("type", type);
-        notification.put("task", task);
-        notification.put("timestamp", new Date());
-        return notification;
+    //what the messages of a frame are split by, all null for board-wide events
+    private record Route(Status status, Priority priority, Status previousStatus, Priority previousPriority) {
+
+        static final Route BOARD = new Route(null, null, null, null);
+
+        static Route of(TaskEvent event) {
+            TaskSnapshot task = event.task();
+            if (task != null)
+                return new Route(task.status(), task.priority(), event.previousStatus(), event.previousPriority());
+            //a delete of a task whose state was known
+            if (event.previousStatus() != null)
+                return new Route(null, null, event.previousStatus(), event.previousPriority());
+            return BOARD;
+        }
+
+        boolean isBoard() {
+            return equals(BOARD);
+        }
+
+        List<Status> statuses() {
+            if (isBoard()) return List.of(Status.values());
+            List<Status> statuses = new ArrayList<>(2);
+            if (status != null) statuses.add(status);
+            if (previousStatus != null && previousStatus != status) statuses.add(previousStatus);
+            return statuses;
+        }
+
+        Map<String, Object> headers() {
+            Map<String, Object> headers = new HashMap<>();
+            if (isBoard()) {
+                headers.put(SCOPE_HEADER, BOARD_SCOPE);
+                return headers;
+            }
+            if (status != null) headers.put(STATUS_HEADER, status.name());
+            if (priority != null) headers.put(PRIORITY_HEADER, priority.name());
+            if (previousStatus != null) headers.put(PREVIOUS_STATUS_HEADER, previousStatus.name());
+            if (previousPriority != null) headers.put(PREVIOUS_PRIORITY_HEADER, previousPriority.name());
+            return headers;
+        }
     }
 }
@@ -1,23 +1,130 @@
 package com.company.kanban.mapper;
 
-import com.company.kanban.model.entity.Task;
+import com.company.kanban.model.dto.TaskDTO;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
+/*
+ * RFC 7386 merge patches for Task, read with the streaming parser straight into a TaskPatch. Only
+ * title, description, status and priority can be patched, all NOT NULL, so a null member (remove) is
+ * rejected. id is immutable, version is taken as the expected version, any other member is an error.
+ * Every value is checked against the TaskDTO constraints before anything is applied.
+ */
 @Component
 public class JsonMergePatch {
 
-    private final ObjectMapper objectMapper;
+    private final JsonFactory jsonFactory;
+    private final Validator validator;
 
-    public JsonMergePatch(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
+    public JsonMergePatch(ObjectMapper objectMapper, Validator validator) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.validator = validator;
     }
 
-    //method for partially updating Task entity
-    public Task mergePatchTask(Task existingTask, String patchJson) throws IOException {
-        return objectMapper.readerForUpdating(existingTask)
-                .readValue(patchJson, Task.class);
+    public TaskPatch compile(String patchJson) throws IOException {
+        EnumMap<TaskPatch.Field, Object> values = new EnumMap<>(TaskPatch.Field.class);
+        Long version = null;
+        List<String> errors = new ArrayList<>();
+
+        try (JsonParser parser = jsonFactory.createParser(patchJson)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT)
+                throw new IllegalArgumentException("Merge patch must be a JSON object");
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken token = parser.nextToken();
+
+                if ("version".equals(name)) {
+                    if (token == JsonToken.VALUE_NUMBER_INT) version = parser.getLongValue();
+                    else if (token != JsonToken.VALUE_NULL) errors.add("version: must be a whole number");
+                    continue;
+                }
+                if ("id".equals(name)) {
+                    errors.add("id: cannot be changed");
+                    parser.skipChildren();
+                    continue;
+                }
+
+                if (token == JsonToken.VALUE_STRING) {
+                    put(values, name, parser.getText(), errors);
+                } else {
+                    put(values, name, null, errors);
+                    parser.skipChildren();
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_OBJECT || parser.nextToken() != null)
+                throw new IllegalArgumentException("Unexpected content after the merge patch");
+        }
+
+        if (!errors.isEmpty()) throw new IllegalArgumentException(String.join(", ", errors));
+        return new TaskPatch(values, version);
+    }
+
+    //same rules for already parsed members, e.g. GraphQL arguments, values may be strings or the enum constants
+    public TaskPatch compile(Map<String, ?> members) {
+        EnumMap<TaskPatch.Field, Object> values = new EnumMap<>(TaskPatch.Field.class);
+        Long version = null;
+        List<String> errors = new ArrayList<>();
+
+        for (Map.Entry<String, ?> member : members.entrySet()) {
+            String name = member.getKey();
+            Object value = member.getValue();
+            if ("version".equals(name)) {
+                if (value instanceof Number number) version = number.longValue();
+                else if (value != null) errors.add("version: must be a whole number");
+            } else if ("id".equals(name)) {
+                errors.add("id: cannot be changed");
+            } else {
+                put(values, name, value, errors);
+            }
+        }
+
+        if (!errors.isEmpty()) throw new IllegalArgumentException(String.join(", ", errors));
+        return new TaskPatch(values, version);
+    }
+
+    private void put(EnumMap<TaskPatch.Field, Object> values, String name, Object raw, List<String> errors) {
+        TaskPatch.Field field = TaskPatch.Field.of(name);
+        if (field == null) {
+            errors.add(name + ": unknown field");
+            return;
+        }
+
+        if (raw instanceof Enum<?> constant) raw = constant.name();
+
+        Object value;
+        if (raw instanceof String text) {
+            try {
+                value = field.parse(text);
+            } catch (IllegalArgumentException e) {
+                errors.add(name + ": unknown value " + text);
+                return;
+            }
+        } else {
+            errors.add(name + ": must be a string");
+            return;
+        }
+
+        if (validate(field, value, errors)) values.put(field, value);
+    }
+
+    private boolean validate(TaskPatch.Field field, Object value, List<String> errors) {
+        List<String> messages = new ArrayList<>();
+        for (ConstraintViolation<TaskDTO> violation : validator.validateValue(TaskDTO.class, field.property(), value)) {
+            messages.add(field.property() + ": " + violation.getMessage());
+        }
+        errors.addAll(messages);
+        return messages.isEmpty();
     }
 }
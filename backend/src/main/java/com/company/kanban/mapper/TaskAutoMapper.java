@@ -2,27 +2,17 @@ package com.company.kanban.mapper;
 
 import com.company.kanban.model.dto.TaskDTO;
 import com.company.kanban.model.entity.Task;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
+//static entry point kept for existing callers, the copying is done by the generated TaskMapper
 public class TaskAutoMapper {
 
     private TaskAutoMapper() {}
 
-    private static final ObjectMapper objectMapper = createCustomObjectMapper();
-
-    private static ObjectMapper createCustomObjectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
-
-        //ignore unknown properties (hateoas links) during deserialization
-        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        return mapper;
-    }
     public static TaskDTO convertToDto(Task task) {
-        return objectMapper.convertValue(task, TaskDTO.class);
+        return TaskMapper.INSTANCE.toDto(task);
     }
 
     public static Task convertToEntity(TaskDTO taskDto) {
-        return objectMapper.convertValue(taskDto, Task.class);
+        return TaskMapper.INSTANCE.toEntity(taskDto);
     }
 }
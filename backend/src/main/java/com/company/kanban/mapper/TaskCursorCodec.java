@@ -0,0 +1,73 @@
+package com.company.kanban.mapper;
+
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//turns keyset positions into opaque url-safe tokens and back, a token is only valid for the sort it was issued for
+@Component
+public class TaskCursorCodec {
+
+    //rank only exists on search hits, it is not a sort for the plain listings
+    public static final String RANK = "rank";
+
+    //NOT NULL columns only, a null key can't be sought past, which leaves description out
+    private static final Map<String, Class<?>> KEY_TYPES = Map.of(
+            RANK, Float.class,
+            "id", Long.class,
+            "version", Long.class,
+            "title", String.class,
+            "status", Status.class,
+            "priority", Priority.class);
+
+    private final ObjectMapper objectMapper;
+
+    public TaskCursorCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public static boolean isSortable(String property) {
+        return KEY_TYPES.containsKey(property) && !RANK.equals(property);
+    }
+
+    public String encode(Sort sort, Map<String, ?> keys) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(new Cursor(sort.toString(), keys));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not encode cursor", e);
+        }
+    }
+
+    public Map<String, Object> decode(String token, Sort sort) {
+        Cursor cursor;
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(token);
+            cursor = objectMapper.readValue(json, Cursor.class);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        if (cursor.sort() == null || !cursor.sort().equals(sort.toString()) || cursor.keys() == null) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort");
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : sort) {
+            Object value = cursor.keys().get(order.getProperty());
+            if (value == null) {
+                throw new IllegalArgumentException("Cursor is missing " + order.getProperty());
+            }
+            keys.put(order.getProperty(), objectMapper.convertValue(value, KEY_TYPES.get(order.getProperty())));
+        }
+        return keys;
+    }
+
+    private record Cursor(String sort, Map<String, ?> keys) {}
+}
@@ -3,24 +3,53 @@ package com.company.kanban.mapper;
 import com.company.kanban.controller.TaskController;
 import com.company.kanban.model.dto.TaskDTO;
 import com.company.kanban.model.entity.Task;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.server.mvc.RepresentationModelAssemblerSupport;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @Component
 public class TaskDtoAssembler extends RepresentationModelAssemblerSupport<Task, TaskDTO> {
 
+    private static final String BASE_ATTRIBUTE = TaskDtoAssembler.class.getName() + ".base";
+
     public TaskDtoAssembler() {
         super(TaskController.class, TaskDTO.class);
     }
 
-    //use TaskAutoMapper to convert to TaskDTO, then add hateoas links to payload
     @Override
     public TaskDTO toModel(Task entity) {
-        TaskDTO taskDTO = TaskAutoMapper.convertToDto(entity);
-        taskDTO.add(linkTo(methodOn(TaskController.class).getTaskById(entity.getId())).withSelfRel());
+        return toModel(entity, true);
+    }
+
+    //use the generated TaskMapper to convert to TaskDTO, then add hateoas links to payload unless the caller never shows them
+    public TaskDTO toModel(Task entity, boolean withLinks) {
+        TaskDTO taskDTO = TaskMapper.INSTANCE.toDto(entity);
+        return withLinks ? addLinks(taskDTO) : taskDTO;
+    }
+
+    //for DTOs projected by the repository, only the links are missing
+    public TaskDTO addLinks(TaskDTO taskDTO) {
+        taskDTO.add(Link.of(selfBase() + "/" + taskDTO.getId()));
         return taskDTO;
     }
-}
\ No newline at end of file
+
+    //same href as linkTo(methodOn(TaskController.class).getTaskById(id)), but the controller mapping
+    //and the forwarded host are resolved once per request instead of through a proxy for every task
+    private String selfBase() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return linkTo(TaskController.class).toUri().toString();
+        }
+
+        Object base = attributes.getAttribute(BASE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (base == null) {
+            base = linkTo(TaskController.class).toUri().toString();
+            attributes.setAttribute(BASE_ATTRIBUTE, base, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (String) base;
+    }
+}
@@ -0,0 +1,17 @@
+package com.company.kanban.mapper;
+
+import com.company.kanban.model.dto.TaskDTO;
+import com.company.kanban.model.entity.Task;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+//generated at compile time, plain getter to builder copies without reflection or an intermediate json tree
+@Mapper
+public interface TaskMapper {
+
+    TaskMapper INSTANCE = Mappers.getMapper(TaskMapper.class);
+
+    TaskDTO toDto(Task task);
+
+    Task toEntity(TaskDTO taskDTO);
+}
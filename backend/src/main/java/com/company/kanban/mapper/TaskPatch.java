@@ -0,0 +1,88 @@
+package com.company.kanban.mapper;
+
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * A merge patch for Task compiled by JsonMergePatch: one typed value per patched field, already
+ * checked against the TaskDTO constraints. It is written as a single UPDATE which skips rows where
+ * nothing differs, and the returned before and after snapshots carry the difference to the listeners.
+ * version is the expected version the patch was written against, a precondition rather than a write.
+ */
+public final class TaskPatch {
+
+    public enum Field {
+        TITLE("title") {
+            Object parse(String text) { return text; }
+        },
+        DESCRIPTION("description") {
+            Object parse(String text) { return text; }
+        },
+        STATUS("status") {
+            Object parse(String text) { return Status.valueOf(text); }
+        },
+        PRIORITY("priority") {
+            Object parse(String text) { return Priority.valueOf(text); }
+        };
+
+        private final String property;
+
+        Field(String property) {
+            this.property = property;
+        }
+
+        //TaskDTO property and task column
+        public String property() {
+            return property;
+        }
+
+        //IllegalArgumentException for values the field can't hold
+        abstract Object parse(String text);
+
+        static Field of(String property) {
+            return switch (property) {
+                case "title" -> TITLE;
+                case "description" -> DESCRIPTION;
+                case "status" -> STATUS;
+                case "priority" -> PRIORITY;
+                default -> null;
+            };
+        }
+    }
+
+    private final Map<Field, Object> values;
+    private final Long version;
+
+    TaskPatch(EnumMap<Field, Object> values, Long version) {
+        this.values = Collections.unmodifiableMap(values);
+        this.version = version;
+    }
+
+    public Long version() {
+        return version;
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    //the later patch wins per field, the expected version stays the one this patch was written against
+    public TaskPatch merge(TaskPatch later) {
+        EnumMap<Field, Object> merged = new EnumMap<>(Field.class);
+        merged.putAll(values);
+        merged.putAll(later.values);
+        return new TaskPatch(merged, version);
+    }
+
+    //column name to value, the shape the single UPDATE path expects
+    public Map<String, Object> columns() {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        values.forEach((field, value) -> columns.put(field.property(), value));
+        return columns;
+    }
+}
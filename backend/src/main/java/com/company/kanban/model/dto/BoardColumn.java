@@ -0,0 +1,8 @@
+package com.company.kanban.model.dto;
+
+import com.company.kanban.model.enums.Status;
+
+import java.util.List;
+
+//first tasks of one status column, count is the total number of tasks in the column
+public record BoardColumn(Status status, List<TaskDTO> tasks, long count) {}
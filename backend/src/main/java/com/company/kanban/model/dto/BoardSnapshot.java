@@ -0,0 +1,6 @@
+package com.company.kanban.model.dto;
+
+import java.util.List;
+
+//every status column in one response, in Status order
+public record BoardSnapshot(List<BoardColumn> columns) {}
@@ -0,0 +1,24 @@
+package com.company.kanban.model.dto;
+
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+//sets status and/or priority on every listed task, each one only if it is still at the given version
+public record BulkTaskUpdateRequest(
+        @NotEmpty(message = "At least one task is required")
+        @Size(max = MAX_ITEMS, message = "At most 1000 tasks can be updated at once")
+        List<@Valid @NotNull Item> items,
+        Status status,
+        Priority priority) {
+
+    public static final int MAX_ITEMS = 1000;
+
+    public record Item(@NotNull(message = "Task id is required") Long id,
+                       @NotNull(message = "Expected version is required") Long version) {}
+}
@@ -0,0 +1,14 @@
+package com.company.kanban.model.dto;
+
+import java.util.List;
+
+//updated tasks carry their new version, every other requested id is listed in failed with the reason
+public record BulkTaskUpdateResult(List<TaskDTO> updated, List<Failure> failed) {
+
+    public enum Reason {
+        NOT_FOUND,
+        VERSION_CONFLICT
+    }
+
+    public record Failure(Long id, Reason reason) {}
+}
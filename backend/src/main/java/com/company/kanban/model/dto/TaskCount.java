@@ -0,0 +1,7 @@
+package com.company.kanban.model.dto;
+
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+
+//one cell of the status x priority matrix, status or priority is null for the row and column totals
+public record TaskCount(Status status, Priority priority, Long count) {}
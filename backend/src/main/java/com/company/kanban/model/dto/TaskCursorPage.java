@@ -0,0 +1,6 @@
+package com.company.kanban.model.dto;
+
+import java.util.List;
+
+//next is the opaque token for the following page, null on the last page
+public record TaskCursorPage(List<TaskDTO> content, int size, String next) {}
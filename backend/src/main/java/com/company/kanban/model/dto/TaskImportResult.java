@@ -0,0 +1,16 @@
+package com.company.kanban.model.dto;
+
+import java.util.List;
+
+//errors holds the first rejected rows as "line N: message", rejected counts all of them
+public record TaskImportResult(long imported,
+                               long rejected,
+                               List<String> errors,
+                               long durationMillis,
+                               double rowsPerSecond) {
+
+    //nothing was imported, the input as a whole was refused (format, header)
+    public static TaskImportResult refused(String error) {
+        return new TaskImportResult(0, 0, List.of(error), 0, 0);
+    }
+}
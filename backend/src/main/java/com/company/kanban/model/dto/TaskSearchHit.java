@@ -0,0 +1,4 @@
+package com.company.kanban.model.dto;
+
+//highlights are HTML escaped with the matched words wrapped in <mark>, the snippet holds the best description fragments
+public record TaskSearchHit(TaskDTO task, float rank, String titleHighlight, String snippet) {}
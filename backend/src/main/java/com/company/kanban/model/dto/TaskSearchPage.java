@@ -0,0 +1,6 @@
+package com.company.kanban.model.dto;
+
+import java.util.List;
+
+//hits by descending rank, next is the cursor for the following page, null on the last page
+public record TaskSearchPage(List<TaskSearchHit> content, int size, String next) {}
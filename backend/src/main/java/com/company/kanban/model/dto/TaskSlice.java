@@ -0,0 +1,6 @@
+package com.company.kanban.model.dto;
+
+import java.util.List;
+
+//estimatedTotal is only filled when requested and may be null if the table has no statistics yet
+public record TaskSlice(List<TaskDTO> content, int page, int size, boolean hasNext, Long estimatedTotal) {}
@@ -0,0 +1,8 @@
+package com.company.kanban.model.dto;
+
+import java.util.List;
+
+public record TaskStats(long total,
+                        List<TaskCount> byStatus,
+                        List<TaskCount> byPriority,
+                        List<TaskCount> byStatusAndPriority) {}
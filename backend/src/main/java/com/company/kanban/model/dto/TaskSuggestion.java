@@ -0,0 +1,6 @@
+package com.company.kanban.model.dto;
+
+import com.company.kanban.model.enums.Status;
+
+//typeahead entry, just enough to show the title and jump to the task
+public record TaskSuggestion(Long id, String title, Status status, Long version) {}
@@ -0,0 +1,4 @@
+package com.company.kanban.model.event;
+
+//any task may have changed, listeners drop everything derived from task state
+public record AllTasksChangedEvent(boolean remote) {}
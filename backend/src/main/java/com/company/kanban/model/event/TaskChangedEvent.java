@@ -0,0 +1,32 @@
+package com.company.kanban.model.event;
+
+//published by TaskServiceImpl for every write, listeners react after the transaction commits
+//remote events were received from another node over the invalidation bus and carry no description
+public record TaskChangedEvent(ChangeType type, TaskSnapshot previous, TaskSnapshot current, boolean remote) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static TaskChangedEvent created(TaskSnapshot current) {
+        return new TaskChangedEvent(ChangeType.CREATED, null, current, false);
+    }
+
+    public static TaskChangedEvent updated(TaskSnapshot previous, TaskSnapshot current) {
+        return new TaskChangedEvent(ChangeType.UPDATED, previous, current, false);
+    }
+
+    public static TaskChangedEvent deleted(TaskSnapshot previous) {
+        return new TaskChangedEvent(ChangeType.DELETED, previous, null, false);
+    }
+
+    public TaskChangedEvent asRemote() {
+        return new TaskChangedEvent(type, previous, current, true);
+    }
+
+    public Long taskId() {
+        return current != null ? current.id() : previous.id();
+    }
+}
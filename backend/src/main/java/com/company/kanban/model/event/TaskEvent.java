@@ -0,0 +1,103 @@
+package com.company.kanban.model.event;
+
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.List;
+
+/*
+ * A change as /topic/tasks subscribers see it. Published by the services, stored in the outbox by
+ * TaskOutboxWriter in the transaction that caused it, and sent in array frames by TaskWebSocketController.
+ * eventId and timestamp are filled in by the outbox publisher. previousStatus and previousPriority are
+ * only set when an update moved the task out of them, and on a delete, so subscribers that filter by
+ * status or priority also hear about tasks leaving their view.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskEvent(Type type,
+                        Long taskId,
+                        TaskSnapshot task,
+                        List<TaskSnapshot> tasks,
+                        Long count,
+                        Status previousStatus,
+                        Priority previousPriority,
+                        Long eventId,
+                        Instant timestamp) {
+
+    public enum Type {
+        CREATE,
+        UPDATE,
+        DELETE,
+        BULK_UPDATE,
+        IMPORT
+    }
+
+    public static TaskEvent created(TaskSnapshot task) {
+        return new TaskEvent(Type.CREATE, task.id(), task, null, null, null, null, null, null);
+    }
+
+    public static TaskEvent updated(TaskSnapshot task) {
+        return new TaskEvent(Type.UPDATE, task.id(), task, null, null, null, null, null, null);
+    }
+
+    public static TaskEvent updated(TaskSnapshot previous, TaskSnapshot current) {
+        TaskEvent event = updated(current);
+        return previous != null ? event.movedFrom(previous.status(), previous.priority()) : event;
+    }
+
+    public static TaskEvent deleted(Long taskId) {
+        return new TaskEvent(Type.DELETE, taskId, null, null, null, null, null, null, null);
+    }
+
+    public static TaskEvent deleted(TaskSnapshot previous) {
+        return new TaskEvent(Type.DELETE, previous.id(), null, null, null, previous.status(), previous.priority(), null, null);
+    }
+
+    //one event for all tasks changed by a bulk update
+    public static TaskEvent bulkUpdated(List<TaskSnapshot> tasks) {
+        return new TaskEvent(Type.BULK_UPDATE, null, null, List.copyOf(tasks), null, null, null, null, null);
+    }
+
+    //one event for a whole bulk import, clients reload instead of applying rows one by one
+    public static TaskEvent imported(long count) {
+        return new TaskEvent(Type.IMPORT, null, null, null, count, null, null, null, null);
+    }
+
+    public TaskEvent delivered(Long eventId, Instant timestamp) {
+        return new TaskEvent(type, taskId, task, tasks, count, previousStatus, previousPriority, eventId, timestamp);
+    }
+
+    //same kind of event for the same task with a newer state
+    public TaskEvent withTask(TaskSnapshot task) {
+        return new TaskEvent(type, taskId, task, tasks, count, previousStatus, previousPriority, eventId, timestamp);
+    }
+
+    //this event in place of an earlier one for the same task, moved from where the earlier one found it
+    public TaskEvent replacing(TaskEvent earlier) {
+        return movedFrom(earlier.statusBefore(), earlier.priorityBefore());
+    }
+
+    //where subscribers saw the task before this event, null when it covers several tasks or isn't known
+    public Status statusBefore() {
+        if (previousStatus != null || type == Type.DELETE) return previousStatus;
+        return task != null ? task.status() : null;
+    }
+
+    public Priority priorityBefore() {
+        if (previousPriority != null || type == Type.DELETE) return previousPriority;
+        return task != null ? task.priority() : null;
+    }
+
+    //null for events that cover several tasks or the whole board
+    public Long taskVersion() {
+        return task != null ? task.version() : null;
+    }
+
+    //the previous values are only kept where they differ from the task's current ones
+    private TaskEvent movedFrom(Status status, Priority priority) {
+        Status fromStatus = task != null && task.status() == status ? null : status;
+        Priority fromPriority = task != null && task.priority() == priority ? null : priority;
+        return new TaskEvent(type, taskId, task, tasks, count, fromStatus, fromPriority, eventId, timestamp);
+    }
+}
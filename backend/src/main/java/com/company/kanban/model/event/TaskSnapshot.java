@@ -0,0 +1,34 @@
+package com.company.kanban.model.event;
+
+import com.company.kanban.model.entity.Task;
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+
+//immutable copy of a task's state, safe to hand to after-commit listeners
+public record TaskSnapshot(Long id,
+                           Long version,
+                           String title,
+                           String description,
+                           Status status,
+                           Priority priority) {
+
+    public static TaskSnapshot of(Task task) {
+        return new TaskSnapshot(task.getId(),
+                task.getVersion(),
+                task.getTitle(),
+                task.getDescription(),
+                task.getStatus(),
+                task.getPriority());
+    }
+
+    public Task toEntity() {
+        return Task.builder()
+                .id(id)
+                .version(version)
+                .title(title)
+                .description(description)
+                .status(status)
+                .priority(priority)
+                .build();
+    }
+}
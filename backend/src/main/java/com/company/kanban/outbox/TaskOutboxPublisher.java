@@ -0,0 +1,226 @@
+package com.company.kanban.outbox;
+
+import com.company.kanban.config.OutboxProperties;
+import com.company.kanban.controller.TaskWebSocketController;
+import com.company.kanban.model.entity.TaskOutboxEntry;
+import com.company.kanban.model.event.AllTasksChangedEvent;
+import com.company.kanban.model.event.TaskChangedEvent;
+import com.company.kanban.model.event.TaskEvent;
+import com.company.kanban.repository.TaskOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Drains task_outbox to this node's /topic/tasks subscribers. Every node runs one publisher on a virtual
+ * thread with its own in-memory offset, starting at the newest row: clients load the board when they
+ * connect, so older messages are of no use to them. Rows are read in id order, and the offset only moves
+ * past a row once it has been sent, so every message goes out at least once.
+ *
+ * Ids are taken at insert time, so a lower id can commit after a higher one. A missing id holds the
+ * publisher back for gap-timeout. After that the id is assumed rolled back, but the publisher keeps
+ * checking for it during late-row-window. A change to one task holds the task's row lock until it
+ * commits, so the messages of a task are in commit order. The last version sent per task drops
+ * duplicates and messages that arrived late and were already overtaken.
+ */
+@Component
+public class TaskOutboxPublisher implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskOutboxPublisher.class);
+
+    //version recorded for a deleted task, nothing for it is sent afterwards
+    private static final long DELETED = Long.MAX_VALUE;
+
+    private final TaskOutboxRepository outboxRepository;
+    private final TaskWebSocketController webSocketController;
+    private final ObjectMapper objectMapper;
+    private final OutboxProperties properties;
+    private final Semaphore wakeups = new Semaphore(0);
+
+    //only touched by the publisher thread
+    private final Map<Long, Instant> gaps = new HashMap<>();
+    private final Map<Long, Long> sentVersions;
+    private long offset = -1;
+    private boolean waitingOnGap;
+    private long gapSeenAt;
+
+    private final Counter sent;
+    private final Counter duplicates;
+    private final Counter skippedIds;
+    private final Counter lateRows;
+    private final Counter pruned;
+
+    private volatile boolean running;
+    private Thread publisherThread;
+
+    public TaskOutboxPublisher(TaskOutboxRepository outboxRepository,
+                               TaskWebSocketController webSocketController,
+                               ObjectMapper objectMapper,
+                               OutboxProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.webSocketController = webSocketController;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.sentVersions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > properties.dedupSize();
+            }
+        };
+        this.sent = meterRegistry.counter("kanban.outbox.sent");
+        this.duplicates = meterRegistry.counter("kanban.outbox.duplicates");
+        this.skippedIds = meterRegistry.counter("kanban.outbox.gaps.skipped");
+        this.lateRows = meterRegistry.counter("kanban.outbox.late");
+        this.pruned = meterRegistry.counter("kanban.outbox.pruned");
+    }
+
+    //local commits are sent right away instead of on the next poll
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskEvent(TaskEvent event) {
+        wakeups.release();
+    }
+
+    //another node committed something, its outbox row is there already
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.remote()) wakeups.release();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAllTasksChanged(AllTasksChangedEvent event) {
+        if (event.remote()) wakeups.release();
+    }
+
+    @Scheduled(fixedDelayString = "${kanban.outbox.prune-interval:PT5M}")
+    public void prune() {
+        pruned.increment(outboxRepository.deleteCreatedBefore(Instant.now().minus(properties.retention())));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        publisherThread = Thread.ofVirtual().name("task-outbox-publisher").start(this::publishLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (publisherThread != null) publisherThread.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void publishLoop() {
+        while (running) {
+            boolean drained;
+            try {
+                drained = poll();
+            } catch (Exception e) {
+                log.warn("Failed to publish task notifications from the outbox, retrying", e);
+                drained = true;
+            }
+            if (!drained) continue;
+            try {
+                wakeups.tryAcquire(properties.pollInterval().toMillis(), TimeUnit.MILLISECONDS);
+                wakeups.drainPermits();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    //false while a full batch was read and more is probably waiting
+    private boolean poll() throws JsonProcessingException {
+        if (offset < 0) {
+            Long newest = outboxRepository.findMaxId();
+            offset = newest != null ? newest : 0;
+        }
+        sendLateRows();
+
+        List<TaskOutboxEntry> rows = outboxRepository.findByIdGreaterThanOrderByIdAsc(offset, Limit.of(properties.batchSize()));
+        for (TaskOutboxEntry row : rows) {
+            //an empty outbox at startup gives no offset to measure gaps from
+            if (offset > 0 && row.getId() > offset + 1 && !passGap(row.getId())) return true;
+            send(row);
+            offset = row.getId();
+            waitingOnGap = false;
+        }
+        return rows.size() < properties.batchSize();
+    }
+
+    //ids between offset and next are rolled back or not committed yet, the latter get gap-timeout to show up
+    private boolean passGap(long next) {
+        long now = System.nanoTime();
+        if (!waitingOnGap) {
+            waitingOnGap = true;
+            gapSeenAt = now;
+            return false;
+        }
+        if (now - gapSeenAt < properties.gapTimeout().toNanos()) return false;
+
+        Instant deadline = Instant.now().plus(properties.lateRowWindow());
+        //a huge gap is a burst of rollbacks, not something worth polling for id by id
+        for (long id = offset + 1; id < next && gaps.size() < properties.batchSize(); id++) {
+            gaps.put(id, deadline);
+        }
+        skippedIds.increment(next - offset - 1);
+        waitingOnGap = false;
+        return true;
+    }
+
+    private void sendLateRows() throws JsonProcessingException {
+        if (gaps.isEmpty()) return;
+        Instant now = Instant.now();
+        gaps.values().removeIf(deadline -> deadline.isBefore(now));
+        if (gaps.isEmpty()) return;
+
+        for (TaskOutboxEntry row : outboxRepository.findByIdInOrderByIdAsc(List.copyOf(gaps.keySet()))) {
+            lateRows.increment();
+            send(row);
+            gaps.remove(row.getId());
+        }
+    }
+
+    private void send(TaskOutboxEntry row) throws JsonProcessingException {
+        Long taskId = row.getTaskId();
+        if (taskId != null && isOvertaken(taskId, row.getTaskVersion())) {
+            duplicates.increment();
+            return;
+        }
+
+        TaskEvent event = objectMapper.readValue(row.getPayload(), TaskEvent.class);
+        webSocketController.broadcast(event.delivered(row.getId(), row.getCreatedAt()));
+        sent.increment();
+
+        if (taskId != null) sentVersions.put(taskId, row.getTaskVersion() != null ? row.getTaskVersion() : DELETED);
+    }
+
+    //versions only grow and a delete is final, anything at or below what was sent is stale
+    private boolean isOvertaken(Long taskId, Long version) {
+        Long last = sentVersions.get(taskId);
+        if (last == null) return false;
+        return last == DELETED || (version != null && version <= last);
+    }
+}
@@ -0,0 +1,47 @@
+package com.company.kanban.outbox;
+
+import com.company.kanban.model.entity.TaskOutboxEntry;
+import com.company.kanban.model.event.TaskEvent;
+import com.company.kanban.repository.TaskOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+
+/*
+ * Turns TaskEvents into task_outbox rows inside the transaction that published them, so a
+ * message exists exactly when its change was committed. A failing insert fails the commit. Writing right
+ * before the commit takes the row id as late as possible, which keeps the time in which publishers see
+ * the id as a gap short.
+ */
+@Component
+public class TaskOutboxWriter {
+
+    private final TaskOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public TaskOutboxWriter(TaskOutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTaskEvent(TaskEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Task notification can't be serialized", e);
+        }
+        outboxRepository.save(TaskOutboxEntry.builder()
+                .type(event.type().name())
+                .taskId(event.taskId())
+                .taskVersion(event.taskVersion())
+                .payload(payload)
+                .createdAt(Instant.now())
+                .build());
+    }
+}
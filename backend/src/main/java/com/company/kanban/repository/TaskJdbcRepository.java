@@ -0,0 +1,34 @@
+package com.company.kanban.repository;
+
+import com.company.kanban.model.dto.TaskDTO;
+import com.company.kanban.model.dto.TaskSearchHit;
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+import com.company.kanban.model.event.TaskSnapshot;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+//plain JDBC operations mixed into TaskRepository, implemented in TaskJdbcRepositoryImpl
+public interface TaskJdbcRepository {
+
+    //streams the tasks into the table with a single COPY, ids and versions are assigned by the database
+    long copyIn(Iterator<TaskDTO> tasks);
+
+    //one UPDATE for all ids, a row is only changed when its version still matches, null status/priority keep the value
+    List<UpdatedRow> updateStatusAndPriority(long[] ids, long[] versions, Status status, Priority priority);
+
+    //one UPDATE ... RETURNING for the given columns (title, description, status, priority), empty when no row matched
+    //or the row already holds every given value
+    Optional<UpdatedRow> patch(long id, Long expectedVersion, Map<String, Object> columns);
+
+    //ids from the given ones that exist
+    List<Long> findExistingIds(long[] ids);
+
+    //full-text match on the search_vector column, ordered by rank then id, continuing after (afterRank, afterId) when given
+    List<TaskSearchHit> search(String query, Status status, Priority priority, Float afterRank, Long afterId, int limit);
+
+    record UpdatedRow(TaskSnapshot previous, TaskSnapshot current) {}
+}
@@ -0,0 +1,270 @@
+package com.company.kanban.repository;
+
+import com.company.kanban.model.dto.TaskDTO;
+import com.company.kanban.model.dto.TaskSearchHit;
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+import com.company.kanban.model.event.TaskSnapshot;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.SQLExceptionSubclassTranslator;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+import org.springframework.web.util.HtmlUtils;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public class TaskJdbcRepositoryImpl implements TaskJdbcRepository {
+
+    private static final String COPY_SQL =
+            "COPY task (title, description, status, priority, version) FROM STDIN WITH (FORMAT csv)";
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    //the FOR UPDATE subquery locks the matching rows and hands their old values to RETURNING,
+    //a row changed concurrently is re-checked against the expected version after the lock
+    private static final String BULK_UPDATE_SQL = """
+            UPDATE task t
+               SET status = COALESCE(CAST(? AS varchar), t.status),
+                   priority = COALESCE(CAST(? AS varchar), t.priority),
+                   version = t.version + 1
+              FROM (SELECT o.id, o.status, o.priority
+                      FROM task o
+                      JOIN unnest(CAST(? AS bigint[]), CAST(? AS bigint[])) AS expected(id, version)
+                        ON o.id = expected.id AND o.version = expected.version
+                       FOR UPDATE OF o) old
+             WHERE t.id = old.id
+            RETURNING t.id, t.version, t.title, t.description, t.status, t.priority,
+                      old.status AS old_status, old.priority AS old_priority
+            """;
+
+    //control characters mark the matches so the text can be HTML escaped before they become <mark> tags
+    private static final String MATCH_START = "\u0001";
+    private static final String MATCH_END = "\u0002";
+    private static final String TITLE_HEADLINE_OPTIONS =
+            "StartSel=" + MATCH_START + ", StopSel=" + MATCH_END + ", HighlightAll=true";
+    private static final String SNIPPET_HEADLINE_OPTIONS =
+            "StartSel=" + MATCH_START + ", StopSel=" + MATCH_END + ", MaxFragments=2, MaxWords=25, MinWords=8, FragmentDelimiter=\" ... \"";
+
+    //the GIN index finds the matches, ts_headline is expensive so it only runs on the rows of the page
+    private static final String SEARCH_SQL = """
+            SELECT hit.id, hit.title, hit.description, hit.status, hit.priority, hit.version, hit.rank,
+                   ts_headline('english', hit.title, hit.query, :titleOptions) AS title_highlight,
+                   ts_headline('english', hit.description, hit.query, :snippetOptions) AS snippet
+              FROM (SELECT t.id, t.title, t.description, t.status, t.priority, t.version, q.query,
+                           ts_rank(t.search_vector, q.query) AS rank
+                      FROM task t, websearch_to_tsquery('english', :query) AS q(query)
+                     WHERE t.search_vector @@ q.query
+                       AND (CAST(:status AS varchar) IS NULL OR t.status = CAST(:status AS varchar))
+                       AND (CAST(:priority AS varchar) IS NULL OR t.priority = CAST(:priority AS varchar))) hit
+             WHERE CAST(:afterRank AS real) IS NULL
+                OR hit.rank < CAST(:afterRank AS real)
+                OR (hit.rank = CAST(:afterRank AS real) AND hit.id > :afterId)
+             ORDER BY hit.rank DESC, hit.id ASC
+             LIMIT :limit
+            """;
+
+    private static final Set<String> PATCHABLE_COLUMNS = Set.of("title", "description", "status", "priority");
+
+    private static final String EXISTING_IDS_SQL = "SELECT id FROM task WHERE id = ANY(CAST(? AS bigint[]))";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final SQLExceptionTranslator exceptionTranslator = new SQLExceptionSubclassTranslator();
+
+    public TaskJdbcRepositoryImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    public List<UpdatedRow> updateStatusAndPriority(long[] ids, long[] versions, Status status, Priority priority) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(BULK_UPDATE_SQL);
+            statement.setString(1, status != null ? status.name() : null);
+            statement.setString(2, priority != null ? priority.name() : null);
+            statement.setArray(3, connection.createArrayOf("bigint", boxed(ids)));
+            statement.setArray(4, connection.createArrayOf("bigint", boxed(versions)));
+            return statement;
+        }, (rs, rowNum) -> {
+            TaskSnapshot current = new TaskSnapshot(rs.getLong("id"),
+                    rs.getLong("version"),
+                    rs.getString("title"),
+                    rs.getString("description"),
+                    Status.valueOf(rs.getString("status")),
+                    Priority.valueOf(rs.getString("priority")));
+            TaskSnapshot previous = new TaskSnapshot(current.id(),
+                    current.version() - 1,
+                    current.title(),
+                    current.description(),
+                    Status.valueOf(rs.getString("old_status")),
+                    Priority.valueOf(rs.getString("old_priority")));
+            return new UpdatedRow(previous, current);
+        });
+    }
+
+    @Override
+    public List<TaskSearchHit> search(String query, Status status, Priority priority, Float afterRank, Long afterId, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("query", query)
+                .addValue("status", status != null ? status.name() : null)
+                .addValue("priority", priority != null ? priority.name() : null)
+                .addValue("afterRank", afterRank)
+                .addValue("afterId", afterId != null ? afterId : 0L)
+                .addValue("limit", limit)
+                .addValue("titleOptions", TITLE_HEADLINE_OPTIONS)
+                .addValue("snippetOptions", SNIPPET_HEADLINE_OPTIONS);
+
+        return namedJdbcTemplate.query(SEARCH_SQL, parameters, (rs, rowNum) -> new TaskSearchHit(
+                new TaskDTO(rs.getLong("id"),
+                        rs.getString("title"),
+                        rs.getString("description"),
+                        Status.valueOf(rs.getString("status")),
+                        Priority.valueOf(rs.getString("priority")),
+                        rs.getLong("version")),
+                rs.getFloat("rank"),
+                highlight(rs.getString("title_highlight")),
+                highlight(rs.getString("snippet"))));
+    }
+
+    //old values come from the locked row of the subquery, the statement text only depends on which columns change.
+    //a row whose columns already hold the given values is left alone, version included
+    @Override
+    public Optional<UpdatedRow> patch(long id, Long expectedVersion, Map<String, Object> columns) {
+        StringBuilder sql = new StringBuilder("UPDATE task t SET ");
+        List<String> differs = new ArrayList<>();
+        for (String column : columns.keySet()) {
+            if (!PATCHABLE_COLUMNS.contains(column))
+                throw new IllegalArgumentException("Cannot patch " + column);
+            sql.append(column).append(" = ?, ");
+            differs.add("o." + column + " IS DISTINCT FROM ?");
+        }
+        sql.append("version = t.version + 1 FROM (SELECT o.id, o.title, o.description, o.status, o.priority FROM task o WHERE o.id = ?");
+        if (expectedVersion != null) sql.append(" AND o.version = ?");
+        sql.append(" AND (").append(String.join(" OR ", differs)).append(")");
+        sql.append(" FOR UPDATE) old WHERE t.id = old.id")
+                .append(" RETURNING t.id, t.version, t.title, t.description, t.status, t.priority,")
+                .append(" old.title AS old_title, old.description AS old_description,")
+                .append(" old.status AS old_status, old.priority AS old_priority");
+
+        List<UpdatedRow> rows = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql.toString());
+            int index = 1;
+            for (Object value : columns.values()) {
+                statement.setString(index++, columnValue(value));
+            }
+            statement.setLong(index++, id);
+            if (expectedVersion != null) statement.setLong(index++, expectedVersion);
+            for (Object value : columns.values()) {
+                statement.setString(index++, columnValue(value));
+            }
+            return statement;
+        }, (rs, rowNum) -> {
+            TaskSnapshot current = new TaskSnapshot(rs.getLong("id"),
+                    rs.getLong("version"),
+                    rs.getString("title"),
+                    rs.getString("description"),
+                    Status.valueOf(rs.getString("status")),
+                    Priority.valueOf(rs.getString("priority")));
+            TaskSnapshot previous = new TaskSnapshot(current.id(),
+                    current.version() - 1,
+                    rs.getString("old_title"),
+                    rs.getString("old_description"),
+                    Status.valueOf(rs.getString("old_status")),
+                    Priority.valueOf(rs.getString("old_priority")));
+            return new UpdatedRow(previous, current);
+        });
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    public List<Long> findExistingIds(long[] ids) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(EXISTING_IDS_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", boxed(ids)));
+            return statement;
+        }, (rs, rowNum) -> rs.getLong(1));
+    }
+
+    //uses the connection of the surrounding transaction, rows are sent in 64 KB chunks as they are produced
+    @Override
+    public long copyIn(Iterator<TaskDTO> tasks) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+            try {
+                ByteArrayOutputStream chunk = new ByteArrayOutputStream(CHUNK_SIZE + 1024);
+                while (tasks.hasNext()) {
+                    appendRow(chunk, tasks.next());
+                    if (chunk.size() >= CHUNK_SIZE) {
+                        copyIn.writeToCopy(chunk.toByteArray(), 0, chunk.size());
+                        chunk.reset();
+                    }
+                }
+                if (chunk.size() > 0) {
+                    copyIn.writeToCopy(chunk.toByteArray(), 0, chunk.size());
+                }
+                return copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) copyIn.cancelCopy();
+            }
+        } catch (SQLException e) {
+            DataAccessException translated = exceptionTranslator.translate("COPY task", COPY_SQL, e);
+            throw translated != null ? translated : new DataAccessResourceFailureException("COPY into task failed", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static String highlight(String headline) {
+        return HtmlUtils.htmlEscape(headline)
+                .replace(MATCH_START, "<mark>")
+                .replace(MATCH_END, "</mark>");
+    }
+
+    private static String columnValue(Object value) {
+        return value instanceof Enum<?> constant ? constant.name() : (String) value;
+    }
+
+    private static Long[] boxed(long[] values) {
+        return Arrays.stream(values).boxed().toArray(Long[]::new);
+    }
+
+    //every field quoted, so an empty description stays an empty string and never becomes NULL
+    private void appendRow(ByteArrayOutputStream chunk, TaskDTO task) {
+        StringBuilder row = new StringBuilder(64);
+        quote(row, task.getTitle()).append(',');
+        quote(row, task.getDescription()).append(',');
+        quote(row, task.getStatus().name()).append(',');
+        quote(row, task.getPriority().name()).append(",0\n");
+        chunk.writeBytes(row.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private StringBuilder quote(StringBuilder row, String value) {
+        row.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') row.append('"');
+            row.append(c);
+        }
+        return row.append('"');
+    }
+}
@@ -0,0 +1,29 @@
+package com.company.kanban.repository;
+
+import com.company.kanban.model.entity.TaskOutboxEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface TaskOutboxRepository extends JpaRepository<TaskOutboxEntry, Long> {
+
+    List<TaskOutboxEntry> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    //rows that were still uncommitted when the publisher passed their ids
+    List<TaskOutboxEntry> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Query("select max(e.id) from TaskOutboxEntry e")
+    Long findMaxId();
+
+    @Modifying
+    @Transactional
+    @Query("delete from TaskOutboxEntry e where e.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -1,23 +1,115 @@
 package com.company.kanban.repository;
 
+import com.company.kanban.model.dto.TaskCount;
+import com.company.kanban.model.dto.TaskDTO;
+import com.company.kanban.model.dto.TaskSuggestion;
 import com.company.kanban.model.entity.Task;
 import com.company.kanban.model.enums.Priority;
 import com.company.kanban.model.enums.Status;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 import org.springframework.stereotype.Repository;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 @RepositoryRestResource(exported = false)
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskJdbcRepository {
 
     @Lock(value = LockModeType.OPTIMISTIC)
     Page<Task> findByStatus(Status status, Pageable pageable);
     Page<Task> findByStatusAndPriority(Status status, Priority priority, Pageable pageable);
     Page<Task> findByPriority(Priority priority, Pageable pageable);
     Page<Task> findAll(Pageable pageable);
+
+    //read-only listings projected straight into TaskDTO, no managed entities or dirty-checking snapshots
+    @Query(value = "select new com.company.kanban.model.dto.TaskDTO(t.id, t.title, t.description, t.status, t.priority, t.version) from Task t",
+            countQuery = "select count(t) from Task t")
+    Page<TaskDTO> findAllDtos(Pageable pageable);
+
+    @Query(value = "select new com.company.kanban.model.dto.TaskDTO(t.id, t.title, t.description, t.status, t.priority, t.version) from Task t where t.status = :status",
+            countQuery = "select count(t) from Task t where t.status = :status")
+    Page<TaskDTO> findDtosByStatus(@Param("status") Status status, Pageable pageable);
+
+    @Query(value = "select new com.company.kanban.model.dto.TaskDTO(t.id, t.title, t.description, t.status, t.priority, t.version) from Task t where t.priority = :priority",
+            countQuery = "select count(t) from Task t where t.priority = :priority")
+    Page<TaskDTO> findDtosByPriority(@Param("priority") Priority priority, Pageable pageable);
+
+    @Query(value = "select new com.company.kanban.model.dto.TaskDTO(t.id, t.title, t.description, t.status, t.priority, t.version) from Task t where t.status = :status and t.priority = :priority",
+            countQuery = "select count(t) from Task t where t.status = :status and t.priority = :priority")
+    Page<TaskDTO> findDtosByStatusAndPriority(@Param("status") Status status, @Param("priority") Priority priority, Pageable pageable);
+
+    //same projections without the count(*) query, one extra row is fetched to know if there is a next slice
+    @Query("select new com.company.kanban.model.dto.TaskDTO(t.id, t.title, t.description, t.status, t.priority, t.version) from Task t")
+    Slice<TaskDTO> findDtoSliceBy(Pageable pageable);
+
+    @Query("select new com.company.kanban.model.dto.TaskDTO(t.id, t.title, t.description, t.status, t.priority, t.version) from Task t where t.priority = :priority")
+    Slice<TaskDTO> findDtoSliceByPriority(@Param("priority") Priority priority, Pageable pageable);
+
+    @Query("select new com.company.kanban.model.dto.TaskDTO(t.id, t.title, t.description, t.status, t.priority, t.version) from Task t where t.status = :status and t.priority = :priority")
+    Slice<TaskDTO> findDtoSliceByStatusAndPriority(@Param("status") Status status, @Param("priority") Priority priority, Pageable pageable);
+
+    //row estimate from planner statistics (reltuples times most common value frequencies), no table scan.
+    //null when the table was never analyzed, a null filter matches everything
+    @Query(value = """
+            SELECT CASE WHEN c.reltuples < 0 THEN NULL ELSE CAST(round(c.reltuples
+                * COALESCE((SELECT f.freq
+                            FROM pg_stats s
+                            CROSS JOIN LATERAL unnest(s.most_common_vals::text::text[], s.most_common_freqs) AS f(val, freq)
+                            WHERE s.schemaname = current_schema() AND s.tablename = 'task' AND s.attname = 'status' AND NOT s.inherited
+                              AND f.val = CAST(:status AS text)),
+                           CASE WHEN CAST(:status AS text) IS NULL THEN 1 ELSE 0 END)
+                * COALESCE((SELECT f.freq
+                            FROM pg_stats s
+                            CROSS JOIN LATERAL unnest(s.most_common_vals::text::text[], s.most_common_freqs) AS f(val, freq)
+                            WHERE s.schemaname = current_schema() AND s.tablename = 'task' AND s.attname = 'priority' AND NOT s.inherited
+                              AND f.val = CAST(:priority AS text)),
+                           CASE WHEN CAST(:priority AS text) IS NULL THEN 1 ELSE 0 END)) AS bigint) END
+            FROM pg_class c
+            WHERE c.oid = to_regclass('task')
+            """, nativeQuery = true)
+    Long estimateCount(@Param("status") String status, @Param("priority") String priority);
+
+    //export cursor: postgres streams fetch-size rows at a time inside the surrounding transaction,
+    //read-only so hibernate keeps no snapshots, the caller detaches each row after use
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    Stream<Task> streamAllByOrderByIdAsc();
+
+    //also the board columns, the counts come from TaskCounters so no count query is needed
+    @Query("select new com.company.kanban.model.dto.TaskDTO(t.id, t.title, t.description, t.status, t.priority, t.version) from Task t where t.status = :status")
+    Slice<TaskDTO> findDtoSliceByStatus(@Param("status") Status status, Pageable pageable);
+
+    //every cell of the status x priority matrix that has tasks, for TaskCounters
+    @Query("select new com.company.kanban.model.dto.TaskCount(t.status, t.priority, count(t)) from Task t group by t.status, t.priority")
+    List<TaskCount> countByStatusAndPriority();
+
+    //titles only, for building TaskTitleIndex
+    @Query("select new com.company.kanban.model.dto.TaskSuggestion(t.id, t.title, t.status, t.version) from Task t")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<TaskSuggestion> streamSuggestionsBy();
+
+    //keyset (seek) queries, the sort always ends with id so every position is unique
+    Window<Task> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+    Window<Task> findAllByStatus(Status status, ScrollPosition position, Sort sort, Limit limit);
+    Window<Task> findAllByPriority(Priority priority, ScrollPosition position, Sort sort, Limit limit);
+    Window<Task> findAllByStatusAndPriority(Status status, Priority priority, ScrollPosition position, Sort sort, Limit limit);
 }
@@ -56,7 +56,7 @@ public class SecurityConfig {
                                 "/graphiql",
                                 "/graphiql/**"
                         ).permitAll()
-                        .requestMatchers("/api/tasks/**").authenticated()
+                        .requestMatchers("/api/tasks/**", "/api/board").authenticated()
                         .anyRequest().authenticated()
                 )
                 .securityContext(securityContext -> securityContext
@@ -77,8 +77,8 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(List.of("http://localhost:3000", "http://localhost:8080"));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type"));
-        configuration.setExposedHeaders(List.of("Authorization"));
+        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "If-None-Match", "If-Match"));
+        configuration.setExposedHeaders(List.of("Authorization", "ETag"));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
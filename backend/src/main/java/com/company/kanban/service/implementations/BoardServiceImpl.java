@@ -0,0 +1,125 @@
+package com.company.kanban.service.implementations;
+
+import com.company.kanban.cache.TaskCounters;
+import com.company.kanban.mapper.TaskDtoAssembler;
+import com.company.kanban.model.dto.BoardColumn;
+import com.company.kanban.model.dto.BoardSnapshot;
+import com.company.kanban.model.dto.TaskDTO;
+import com.company.kanban.model.enums.Status;
+import com.company.kanban.model.event.AllTasksChangedEvent;
+import com.company.kanban.model.event.TaskChangedEvent;
+import com.company.kanban.repository.TaskRepository;
+import com.company.kanban.service.interfaces.BoardService;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class BoardServiceImpl implements BoardService {
+
+    public static final String CACHE_NAME = "board";
+    private static final int MAX_COLUMN_SIZE = 100;
+
+    private final TaskRepository taskRepository;
+    private final TaskDtoAssembler taskDtoAssembler;
+    private final CacheManager cacheManager;
+    private final TaskCounters taskCounters;
+
+    //part of the key like the page cache generations, a snapshot loaded before a commit is stored under a dead key
+    private final AtomicLong generation = new AtomicLong();
+
+    private record BoardKey(int size, long generation) {}
+
+    public BoardServiceImpl(TaskRepository taskRepository,
+                            TaskDtoAssembler taskDtoAssembler,
+                            CacheManager cacheManager,
+                            TaskCounters taskCounters) {
+        this.taskRepository = taskRepository;
+        this.taskDtoAssembler = taskDtoAssembler;
+        this.cacheManager = cacheManager;
+        this.taskCounters = taskCounters;
+    }
+
+    @Override
+    public BoardSnapshot getBoard(int size) {
+        //every size is its own cache entry, and a column is one page query
+        if (size < 1 || size > MAX_COLUMN_SIZE)
+            throw new IllegalArgumentException("Column size must be between 1 and " + MAX_COLUMN_SIZE);
+        PageRequest firstPage = PageRequest.of(0, size, Sort.by(Sort.Direction.ASC, "id"));
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return loadBoard(firstPage);
+        }
+        return cache.get(new BoardKey(size, generation.get()), () -> loadBoard(firstPage));
+    }
+
+    //right after TaskCounters, a board loaded under the new generation must see the new counts
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true,
+            classes = {TaskChangedEvent.class, AllTasksChangedEvent.class})
+    public void onTasksChanged() {
+        generation.incrementAndGet();
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) cache.clear();
+    }
+
+    /*
+     * One virtual thread per column, each with its own page query, the column counts are read from
+     * TaskCounters instead of a count(*) per column. StructuredTaskScope is still a preview API on
+     * Java 21, so the scope is a per-call executor: columns are joined in the order they finish, the
+     * first failure cancels the others, and closing the executor waits for all of them. Links are added
+     * on the calling thread, the request bound there decides their host.
+     */
+    private BoardSnapshot loadBoard(PageRequest firstPage) {
+        Map<Status, Future<Slice<TaskDTO>>> columns = new EnumMap<>(Status.class);
+
+        try (ExecutorService scope = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletionService<Slice<TaskDTO>> finished = new ExecutorCompletionService<>(scope);
+            for (Status status : Status.values()) {
+                columns.put(status, finished.submit(() -> taskRepository.findDtoSliceByStatus(status, firstPage)));
+            }
+            for (int i = 0; i < columns.size(); i++) {
+                join(columns, finished);
+            }
+
+            List<BoardColumn> board = new ArrayList<>();
+            columns.forEach((status, column) -> board.add(new BoardColumn(status,
+                    column.resultNow().getContent().stream().map(taskDtoAssembler::addLinks).toList(),
+                    taskCounters.count(status))));
+            return new BoardSnapshot(board);
+        }
+    }
+
+    private void join(Map<Status, Future<Slice<TaskDTO>>> columns, CompletionService<Slice<TaskDTO>> finished) {
+        try {
+            finished.take().get();
+        } catch (InterruptedException e) {
+            columns.values().forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Board loading was interrupted", e);
+        } catch (ExecutionException e) {
+            columns.values().forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new IllegalStateException("Could not load board column", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.company.kanban.service.implementations;
+
+import com.company.kanban.model.entity.Task;
+import com.company.kanban.model.event.TaskSnapshot;
+import com.company.kanban.repository.TaskRepository;
+import com.company.kanban.service.interfaces.TaskExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class TaskExportServiceImpl implements TaskExportService {
+
+    private static final int FLUSH_EVERY = 1000;
+
+    private final TaskRepository taskRepository;
+    private final ObjectWriter snapshotWriter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public TaskExportServiceImpl(TaskRepository taskRepository, ObjectMapper objectMapper) {
+        this.taskRepository = taskRepository;
+        this.snapshotWriter = objectMapper.writerFor(TaskSnapshot.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+    }
+
+    /*
+     * One JSON object per line, ordered by id. Rows come through a server-side cursor (the stream must be
+     * consumed inside this transaction), and every task is detached as soon as it is written so the
+     * persistence context, and with it the heap, stays the same size however many rows there are.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream out) throws IOException {
+        long count = 0;
+
+        try (Stream<Task> tasks = taskRepository.streamAllByOrderByIdAsc();
+             JsonGenerator generator = snapshotWriter.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                Task task = iterator.next();
+                snapshotWriter.writeValue(generator, TaskSnapshot.of(task));
+                entityManager.detach(task);
+
+                if (++count % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+            //the separator only goes between values, the last line still has to end
+            if (count > 0) generator.writeRaw('\n');
+            generator.flush();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,303 @@
+package com.company.kanban.service.implementations;
+
+import com.company.kanban.model.dto.TaskDTO;
+import com.company.kanban.model.dto.TaskImportResult;
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+import com.company.kanban.model.event.AllTasksChangedEvent;
+import com.company.kanban.model.event.TaskEvent;
+import com.company.kanban.repository.TaskRepository;
+import com.company.kanban.service.interfaces.TaskImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/*
+ * Bulk import of NDJSON (one TaskDTO per line, the export format works as is) or CSV with a
+ * title,description,status,priority header. Rows are parsed and validated with the TaskDTO rules while
+ * COPY is streaming, so memory does not depend on the input size. Invalid rows are skipped and reported,
+ * the valid ones are committed together, followed by one cache reset and one websocket notification.
+ */
+@Service
+public class TaskImportServiceImpl implements TaskImportService {
+
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    public static final MediaType CSV = MediaType.parseMediaType("text/csv");
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final List<String> CSV_COLUMNS = List.of("title", "description", "status", "priority");
+
+    private final TaskRepository taskRepository;
+    private final ObjectReader dtoReader;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TaskImportServiceImpl(TaskRepository taskRepository,
+                                 ObjectMapper objectMapper,
+                                 Validator validator,
+                                 PlatformTransactionManager transactionManager,
+                                 ApplicationEventPublisher eventPublisher) {
+        this.taskRepository = taskRepository;
+        this.dtoReader = objectMapper.readerFor(TaskDTO.class);
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public TaskImportResult importTasks(InputStream body, MediaType contentType) {
+        long start = System.nanoTime();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024);
+
+        RowSource rows;
+        if (NDJSON.isCompatibleWith(contentType)) {
+            rows = new NdjsonRows(reader);
+        } else if (CSV.isCompatibleWith(contentType)) {
+            rows = new CsvRows(reader);
+        } else {
+            throw new IllegalArgumentException("Unsupported import format " + contentType);
+        }
+
+        //the IMPORT message goes to the outbox in the COPY transaction
+        Long imported = transactionTemplate.execute(status -> {
+            long copied = taskRepository.copyIn(rows);
+            if (copied > 0) eventPublisher.publishEvent(TaskEvent.imported(copied));
+            return copied;
+        });
+        long count = imported != null ? imported : 0;
+
+        //after the commit: listeners run immediately outside a transaction
+        if (count > 0) {
+            eventPublisher.publishEvent(new AllTasksChangedEvent(false));
+        }
+
+        long nanos = System.nanoTime() - start;
+        double rowsPerSecond = nanos > 0 ? count * 1_000_000_000d / nanos : 0;
+        return new TaskImportResult(count, rows.rejected, List.copyOf(rows.errors), nanos / 1_000_000, rowsPerSecond);
+    }
+
+    //a row that can't be turned into a TaskDTO, reported and skipped like a validation failure
+    private static class RowException extends RuntimeException {
+        RowException(String message) {
+            super(message);
+        }
+    }
+
+    //yields only valid rows, rejects are counted on the way
+    private abstract class RowSource implements Iterator<TaskDTO> {
+
+        final List<String> errors = new ArrayList<>();
+        long rejected;
+        private TaskDTO next;
+        private boolean done;
+
+        //next row, valid or not, null at the end of the input
+        abstract TaskDTO read() throws IOException;
+
+        //line where the last read row started
+        abstract long line();
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && !done) {
+                try {
+                    TaskDTO row = read();
+                    if (row == null) {
+                        done = true;
+                    } else {
+                        Set<ConstraintViolation<TaskDTO>> violations = validator.validate(row);
+                        if (violations.isEmpty()) {
+                            next = row;
+                        } else {
+                            reject(violations.stream()
+                                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                                    .sorted()
+                                    .collect(Collectors.joining(", ")));
+                        }
+                    }
+                } catch (RowException e) {
+                    reject(e.getMessage());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public TaskDTO next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            TaskDTO row = next;
+            next = null;
+            return row;
+        }
+
+        private void reject(String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("line " + line() + ": " + message);
+            }
+        }
+    }
+
+    private final class NdjsonRows extends RowSource {
+
+        private final BufferedReader reader;
+        private long line;
+
+        NdjsonRows(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        TaskDTO read() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                if (text == null) return null;
+                line++;
+            } while (text.isBlank());
+
+            try {
+                return dtoReader.readValue(text);
+            } catch (JsonProcessingException e) {
+                throw new RowException(e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        long line() {
+            return line;
+        }
+    }
+
+    //RFC 4180: quoted fields may contain commas, doubled quotes and line breaks
+    private final class CsvRows extends RowSource {
+
+        private final BufferedReader reader;
+        private final int[] positions = new int[CSV_COLUMNS.size()];
+        private int width;
+        private long line;
+        private long recordLine;
+
+        CsvRows(BufferedReader reader) {
+            this.reader = reader;
+            readHeader();
+        }
+
+        @Override
+        TaskDTO read() throws IOException {
+            List<String> record;
+            do {
+                record = readRecord();
+                if (record == null) return null;
+            } while (record.size() == 1 && record.get(0).isBlank());
+
+            if (record.size() != width) {
+                throw new RowException("expected " + width + " fields but found " + record.size());
+            }
+            TaskDTO task = new TaskDTO();
+            task.setTitle(record.get(positions[0]));
+            task.setDescription(record.get(positions[1]));
+            task.setStatus(parse(Status.class, "status", record.get(positions[2])));
+            task.setPriority(parse(Priority.class, "priority", record.get(positions[3])));
+            return task;
+        }
+
+        @Override
+        long line() {
+            return recordLine;
+        }
+
+        private void readHeader() {
+            try {
+                List<String> header = readRecord();
+                if (header == null) throw new IllegalArgumentException("line 1: CSV import is empty");
+
+                List<String> names = header.stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+                for (int i = 0; i < CSV_COLUMNS.size(); i++) {
+                    positions[i] = names.indexOf(CSV_COLUMNS.get(i));
+                    if (positions[i] < 0) {
+                        throw new IllegalArgumentException("line 1: CSV header must contain " + String.join(",", CSV_COLUMNS));
+                    }
+                }
+                width = names.size();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            if (c == -1) return null;
+            recordLine = ++line;
+
+            List<String> fields = new ArrayList<>(CSV_COLUMNS.size());
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+
+            while (true) {
+                if (c == -1) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+                if (quoted) {
+                    if (c == '"') {
+                        int following = reader.read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = following;
+                            continue;
+                        }
+                    } else {
+                        if (c == '\n') line++;
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+        }
+
+        private <E extends Enum<E>> E parse(Class<E> type, String column, String value) {
+            if (value == null || value.isBlank()) return null;
+            try {
+                return Enum.valueOf(type, value.trim());
+            } catch (IllegalArgumentException e) {
+                throw new RowException(column + ": unknown value " + value.trim());
+            }
+        }
+    }
+}
@@ -1,32 +1,50 @@
 package com.company.kanban.service.implementations;
 
 import ch.qos.logback.classic.Logger;
-import com.company.kanban.controller.TaskWebSocketController;
+import com.company.kanban.cache.TaskEntityCache;
+import com.company.kanban.model.dto.BulkTaskUpdateRequest;
+import com.company.kanban.model.dto.BulkTaskUpdateResult;
+import com.company.kanban.model.dto.TaskCursorPage;
 import com.company.kanban.model.dto.TaskDTO;
+import com.company.kanban.model.dto.TaskSearchHit;
+import com.company.kanban.model.dto.TaskSearchPage;
 import com.company.kanban.model.entity.Task;
 import com.company.kanban.model.enums.Priority;
 import com.company.kanban.model.enums.Status;
+import com.company.kanban.model.event.TaskChangedEvent;
+import com.company.kanban.model.event.TaskEvent;
+import com.company.kanban.model.event.TaskSnapshot;
+import com.company.kanban.repository.TaskJdbcRepository;
 import com.company.kanban.repository.TaskRepository;
 import com.company.kanban.mapper.JsonMergePatch;
+import com.company.kanban.mapper.TaskCursorCodec;
 import com.company.kanban.mapper.TaskDtoAssembler;
+import com.company.kanban.mapper.TaskPatch;
 import com.company.kanban.service.interfaces.TaskService;
 import jakarta.persistence.OptimisticLockException;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.Set;
 
 @Service
 public class TaskServiceImpl implements TaskService {
@@ -34,95 +52,317 @@ public class TaskServiceImpl implements TaskService {
     private final TaskRepository taskRepository;
     private final TaskDtoAssembler taskDtoAssembler;
     private final JsonMergePatch jsonMergePatch;
-    private final TaskWebSocketController webSocketController;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskEntityCache taskEntityCache;
+    private final TaskCursorCodec taskCursorCodec;
+
+    private static final Sort SEARCH_SORT = Sort.by(Sort.Order.desc(TaskCursorCodec.RANK), Sort.Order.asc("id"));
+    private static final int MAX_SEARCH_SIZE = 100;
+    private static final int MAX_CURSOR_SIZE = 100;
 
     private static final Logger log = (Logger) LoggerFactory.getLogger(TaskServiceImpl.class);
-    private final AtomicLong cacheHits = new AtomicLong(0);
-    private final AtomicLong cacheMisses = new AtomicLong(0);
 
     public TaskServiceImpl(TaskRepository taskRepository,
                            JsonMergePatch jsonMergePatch,
                            TaskDtoAssembler taskDtoAssembler,
-                           TaskWebSocketController webSocketController) {
+                           ApplicationEventPublisher eventPublisher,
+                           TaskEntityCache taskEntityCache,
+                           TaskCursorCodec taskCursorCodec) {
         this.taskRepository = taskRepository;
         this.jsonMergePatch = jsonMergePatch;
         this.taskDtoAssembler = taskDtoAssembler;
-        this.webSocketController = webSocketController;
+        this.eventPublisher = eventPublisher;
+        this.taskEntityCache = taskEntityCache;
+        this.taskCursorCodec = taskCursorCodec;
     }
 
+    //key holds filter, sort and page, see TaskPageCacheIndex for the invalidation side
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "tasks", key = "{#status, #priority, #pageable.pageNumber, #pageable.pageSize}")
+    @Cacheable(value = "tasks", keyGenerator = "taskPageCacheIndex")
     public Page<TaskDTO> getTasks(Status status, Priority priority, Pageable pageable) {
-        Page<Task> taskEntitiesPage;
+        Page<TaskDTO> tasksPage;
+
+        if (status != null && priority != null) {
+            tasksPage = taskRepository.findDtosByStatusAndPriority(status, priority, pageable);
+        } else if (status != null) {
+            tasksPage = taskRepository.findDtosByStatus(status, pageable);
+        } else if (priority != null) {
+            tasksPage = taskRepository.findDtosByPriority(priority, pageable);
+        } else {
+            tasksPage = taskRepository.findAllDtos(pageable);
+        }
+        return tasksPage.map(taskDtoAssembler::addLinks);
+    }
+
+    //like getTasks but without the count(*) query, cached under its own keys
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = "tasks", keyGenerator = "taskPageCacheIndex")
+    public Slice<TaskDTO> getTaskSlice(Status status, Priority priority, Pageable pageable) {
+        Slice<TaskDTO> tasksSlice;
 
         if (status != null && priority != null) {
-            taskEntitiesPage = taskRepository.findByStatusAndPriority(status, priority, pageable);
+            tasksSlice = taskRepository.findDtoSliceByStatusAndPriority(status, priority, pageable);
         } else if (status != null) {
-            taskEntitiesPage = taskRepository.findByStatus(status, pageable);
+            tasksSlice = taskRepository.findDtoSliceByStatus(status, pageable);
         } else if (priority != null) {
-            taskEntitiesPage = taskRepository.findByPriority(priority, pageable);
+            tasksSlice = taskRepository.findDtoSliceByPriority(priority, pageable);
         } else {
-            taskEntitiesPage = taskRepository.findAll(pageable);
+            tasksSlice = taskRepository.findDtoSliceBy(pageable);
         }
-        return taskEntitiesPage.map(taskDtoAssembler::toModel);
+        return tasksSlice.map(taskDtoAssembler::addLinks);
+    }
+
+    //the slice as plain rows for callers that show no links, e.g. GraphQL, cached under its own keys
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = "tasks", keyGenerator = "taskPageCacheIndex")
+    public Slice<TaskDTO> getTasksWithoutLinks(Status status, Priority priority, Pageable pageable) {
+        if (status != null && priority != null) {
+            return taskRepository.findDtoSliceByStatusAndPriority(status, priority, pageable);
+        } else if (status != null) {
+            return taskRepository.findDtoSliceByStatus(status, pageable);
+        } else if (priority != null) {
+            return taskRepository.findDtoSliceByPriority(priority, pageable);
+        }
+        return taskRepository.findDtoSliceBy(pageable);
+    }
+
+    //planner statistics only, may lag behind until the next (auto)analyze
+    @Override
+    @Transactional(readOnly = true)
+    public Long estimateTaskCount(Status status, Priority priority) {
+        return taskRepository.estimateCount(
+                status != null ? status.name() : null,
+                priority != null ? priority.name() : null);
+    }
+
+    //seeks past the last row of the previous page instead of counting OFFSET rows, not cached
+    @Override
+    @Transactional(readOnly = true)
+    public TaskCursorPage getTasksAfter(Status status, Priority priority, String sortParam, String after, int size) {
+        if (size < 1 || size > MAX_CURSOR_SIZE)
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_CURSOR_SIZE);
+
+        Sort sort = keysetSort(buildPageable(0, size, sortParam).getSort());
+        ScrollPosition position = (after == null || after.isBlank())
+                ? ScrollPosition.keyset()
+                : ScrollPosition.forward(taskCursorCodec.decode(after, sort));
+        Limit limit = Limit.of(size);
+
+        Window<Task> window;
+
+        if (status != null && priority != null) {
+            window = taskRepository.findAllByStatusAndPriority(status, priority, position, sort, limit);
+        } else if (status != null) {
+            window = taskRepository.findAllByStatus(status, position, sort, limit);
+        } else if (priority != null) {
+            window = taskRepository.findAllByPriority(priority, position, sort, limit);
+        } else {
+            window = taskRepository.findAllBy(position, sort, limit);
+        }
+
+        List<TaskDTO> content = window.getContent().stream()
+                .map(taskDtoAssembler::toModel)
+                .toList();
+        String next = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            next = taskCursorCodec.encode(sort, last.getKeys());
+        }
+        return new TaskCursorPage(content, size, next);
+    }
+
+    //ranked full-text search, keyset paged on (rank, id) so deep pages cost the same as the first one
+    @Override
+    @Transactional(readOnly = true)
+    public TaskSearchPage searchTasks(String query, Status status, Priority priority, String after, int size) {
+        if (query == null || query.isBlank())
+            throw new IllegalArgumentException("Search query is required");
+        if (size < 1 || size > MAX_SEARCH_SIZE)
+            throw new IllegalArgumentException("Search size must be between 1 and " + MAX_SEARCH_SIZE);
+
+        Float afterRank = null;
+        Long afterId = null;
+        if (after != null && !after.isBlank()) {
+            Map<String, Object> keys = taskCursorCodec.decode(after, SEARCH_SORT);
+            afterRank = (Float) keys.get(TaskCursorCodec.RANK);
+            afterId = (Long) keys.get("id");
+        }
+
+        List<TaskSearchHit> hits = taskRepository.search(query, status, priority, afterRank, afterId, size + 1);
+        boolean hasNext = hits.size() > size;
+        if (hasNext) hits = hits.subList(0, size);
+        hits.forEach(hit -> taskDtoAssembler.addLinks(hit.task()));
+
+        String next = null;
+        if (hasNext) {
+            TaskSearchHit last = hits.get(hits.size() - 1);
+            next = taskCursorCodec.encode(SEARCH_SORT, Map.of(TaskCursorCodec.RANK, last.rank(), "id", last.task().getId()));
+        }
+        return new TaskSearchPage(List.copyOf(hits), size, next);
     }
 
     @Override
     public Optional<TaskDTO> getTaskById(Long id) {
-        return taskRepository.findById(id)
+        return getTaskEntity(id)
                 .map(taskDtoAssembler::toModel);
     }
 
+    //detached copy of the cached state, callers may modify it freely
     @Override
-    @CacheEvict(value = "tasks", allEntries = true)
+    public Optional<Task> getTaskEntity(Long id) {
+        return taskEntityCache.get(id, key -> taskRepository.findById(key).map(TaskSnapshot::of))
+                .map(TaskSnapshot::toEntity);
+    }
+
+    @Override
+    @Transactional
     public TaskDTO createTask(Task task) {
         Task savedTask = taskRepository.save(task);
         TaskDTO taskDTO = taskDtoAssembler.toModel(savedTask);
-        webSocketController.notifyTaskCreated(taskDTO);
+        eventPublisher.publishEvent(TaskEvent.created(TaskSnapshot.of(savedTask)));
+        eventPublisher.publishEvent(TaskChangedEvent.created(TaskSnapshot.of(savedTask)));
         return taskDTO;
     }
 
     @Override
-    @CacheEvict(value = "tasks", allEntries = true)
+    @Transactional
     public TaskDTO updateTask(Task task) {
         try {
+            TaskSnapshot previous = findSnapshot(task.getId());
             Task savedTask = taskRepository.save(task);
+            taskRepository.flush();
             TaskDTO taskDTO = taskDtoAssembler.toModel(savedTask);
-            webSocketController.notifyTaskUpdated(taskDTO);
+            TaskSnapshot current = TaskSnapshot.of(savedTask);
+            eventPublisher.publishEvent(TaskEvent.updated(previous, current));
+            eventPublisher.publishEvent(TaskChangedEvent.updated(previous, current));
             return taskDTO;
         } catch (OptimisticLockingFailureException | OptimisticLockException e) {
             throw new OptimisticLockException("Task was updated by another user. Please reload and try again.");
         }
     }
 
+    //merge patch as one UPDATE ... RETURNING, the version is only checked when the caller supplies one
     @Override
-    @CacheEvict(value = "tasks", allEntries = true)
-    public TaskDTO partialUpdateTask(Task task, String jsonPartialUpdate) {
+    @Transactional
+    public Optional<TaskDTO> patchTask(Long id, String patchJson, Long expectedVersion) {
+        TaskPatch patch;
         try {
-            Task updatedTask = jsonMergePatch.mergePatchTask(task, jsonPartialUpdate);
-            Task savedTask = taskRepository.save(updatedTask);
-            TaskDTO taskDTO = taskDtoAssembler.toModel(savedTask);
-            webSocketController.notifyTaskUpdated(taskDTO);
-            return taskDTO;
-        } catch (OptimisticLockingFailureException | OptimisticLockException e) {
-            throw new OptimisticLockException("Task was updated during your edit. Please reload and try again.");
+            patch = jsonMergePatch.compile(patchJson);
         } catch (IOException e) {
-            throw new RuntimeException(e);
+            throw new IllegalArgumentException("Malformed merge patch", e);
         }
+        return patchTask(id, patch, patch.version() != null ? patch.version() : expectedVersion);
     }
 
     @Override
-    @CacheEvict(value = "tasks", allEntries = true)
+    @Transactional
+    public Optional<TaskDTO> patchTask(Long id, Map<String, Object> columns, Long expectedVersion) {
+        TaskPatch patch = jsonMergePatch.compile(columns);
+        return patchTask(id, patch, patch.version() != null ? patch.version() : expectedVersion);
+    }
+
+    @Override
+    @Transactional
+    public Optional<TaskDTO> patchTask(Long id, TaskPatch patch, Long expectedVersion) {
+        if (patch.isEmpty()) {
+            Optional<TaskDTO> current = getTaskById(id);
+            if (expectedVersion != null && current.isPresent() && !expectedVersion.equals(current.get().getVersion()))
+                throw new OptimisticLockException("Task was updated during your edit. Please reload and try again.");
+            return current;
+        }
+
+        Optional<TaskJdbcRepository.UpdatedRow> row = taskRepository.patch(id, expectedVersion, patch.columns());
+        if (row.isEmpty()) {
+            //the task is missing, its version didn't match, or the patch changes nothing, the row tells which
+            Optional<Task> task = taskRepository.findById(id);
+            if (expectedVersion != null && task.isPresent() && !expectedVersion.equals(task.get().getVersion()))
+                throw new OptimisticLockException("Task was updated during your edit. Please reload and try again.");
+            return task.map(taskDtoAssembler::toModel);
+        }
+
+        TaskDTO taskDTO = taskDtoAssembler.toModel(row.get().current().toEntity());
+        eventPublisher.publishEvent(TaskEvent.updated(row.get().previous(), row.get().current()));
+        eventPublisher.publishEvent(TaskChangedEvent.updated(row.get().previous(), row.get().current()));
+        return Optional.of(taskDTO);
+    }
+
+    @Override
+    @Transactional
     public void deleteTask(Long id) {
         try {
+            //nothing to delete, so nothing for the outbox or the caches either, DELETE stays idempotent
+            TaskSnapshot previous = findSnapshot(id);
+            if (previous == null) return;
+
             taskRepository.deleteById(id);
-            webSocketController.notifyTaskDeleted(id);
+            taskRepository.flush();
+            eventPublisher.publishEvent(TaskEvent.deleted(previous));
+            eventPublisher.publishEvent(TaskChangedEvent.deleted(previous));
         } catch (OptimisticLockingFailureException | OptimisticLockException e) {
             throw new OptimisticLockException("Task was modified before deletion. Please refresh and try again.");
         }
     }
 
+    //one set-based UPDATE instead of a save per task, tasks whose version moved on are reported and left alone
+    @Override
+    @Transactional
+    public BulkTaskUpdateResult bulkUpdate(BulkTaskUpdateRequest request) {
+        List<BulkTaskUpdateRequest.Item> items = request.items();
+        if (items == null || items.isEmpty())
+            throw new IllegalArgumentException("At least one task is required");
+        if (items.size() > BulkTaskUpdateRequest.MAX_ITEMS)
+            throw new IllegalArgumentException("At most " + BulkTaskUpdateRequest.MAX_ITEMS + " tasks can be updated at once");
+        if (request.status() == null && request.priority() == null)
+            throw new IllegalArgumentException("Status or priority is required");
+
+        long[] ids = new long[items.size()];
+        long[] versions = new long[items.size()];
+        Set<Long> requested = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            BulkTaskUpdateRequest.Item item = items.get(i);
+            if (item == null || item.id() == null || item.version() == null)
+                throw new IllegalArgumentException("Every task needs an id and the expected version");
+            if (!requested.add(item.id()))
+                throw new IllegalArgumentException("Task " + item.id() + " is listed more than once");
+            ids[i] = item.id();
+            versions[i] = item.version();
+        }
+
+        List<TaskJdbcRepository.UpdatedRow> rows =
+                taskRepository.updateStatusAndPriority(ids, versions, request.status(), request.priority());
+
+        List<TaskDTO> updated = new ArrayList<>(rows.size());
+        Set<Long> updatedIds = new HashSet<>();
+        for (TaskJdbcRepository.UpdatedRow row : rows) {
+            updated.add(taskDtoAssembler.toModel(row.current().toEntity()));
+            updatedIds.add(row.current().id());
+            eventPublisher.publishEvent(TaskChangedEvent.updated(row.previous(), row.current()));
+        }
+
+        List<BulkTaskUpdateResult.Failure> failed = new ArrayList<>();
+        if (updatedIds.size() < ids.length) {
+            long[] missing = requested.stream()
+                    .filter(id -> !updatedIds.contains(id))
+                    .mapToLong(Long::longValue)
+                    .toArray();
+            Set<Long> existing = new HashSet<>(taskRepository.findExistingIds(missing));
+            for (BulkTaskUpdateRequest.Item item : items) {
+                if (updatedIds.contains(item.id())) continue;
+                failed.add(new BulkTaskUpdateResult.Failure(item.id(), existing.contains(item.id())
+                        ? BulkTaskUpdateResult.Reason.VERSION_CONFLICT
+                        : BulkTaskUpdateResult.Reason.NOT_FOUND));
+            }
+        }
+
+        if (!updated.isEmpty()) {
+            eventPublisher.publishEvent(TaskEvent.bulkUpdated(rows.stream().map(TaskJdbcRepository.UpdatedRow::current).toList()));
+        }
+        return new BulkTaskUpdateResult(updated, failed);
+    }
+
     @Override
     public Pageable buildPageable(int page, int size, String sortParam){
 
@@ -148,6 +388,30 @@ public class TaskServiceImpl implements TaskService {
 
     }
 
+    //keyset positions must be unique, so id is appended as the last tie-breaker
+    private Sort keysetSort(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!TaskCursorCodec.isSortable(order.getProperty()))
+                throw new IllegalArgumentException("Cannot sort by " + order.getProperty());
+        }
+        if (sort.getOrderFor("id") != null)
+            return sort;
+
+        Sort.Direction direction = Sort.Direction.ASC;
+        for (Sort.Order order : sort) {
+            direction = order.getDirection();
+        }
+        return sort.and(Sort.by(direction, "id"));
+    }
+
+    //state before the write, the lookup is shared with the merge inside save so it costs no extra query
+    private TaskSnapshot findSnapshot(Long id) {
+        if (id == null) return null;
+        return taskRepository.findById(id)
+                .map(TaskSnapshot::of)
+                .orElse(null);
+    }
+
 
 
 }
@@ -0,0 +1,172 @@
+package com.company.kanban.service.implementations;
+
+import com.company.kanban.config.WriteCoalescingProperties;
+import com.company.kanban.mapper.JsonMergePatch;
+import com.company.kanban.mapper.TaskPatch;
+import com.company.kanban.model.dto.TaskDTO;
+import com.company.kanban.service.interfaces.TaskService;
+import com.company.kanban.service.interfaces.TaskWriteCoalescer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Merges merge patches to the same task that arrive within a short window into one UPDATE and one
+ * notification, for cards dragged through several columns in a second. The first patch opens a batch,
+ * later ones fold into it field by field, and when the window ends the merged patch is written and every
+ * caller gets the resulting task and version. A patch with an expected version only ever opens a batch,
+ * so two edits made against the same version can't both succeed; if the check fails, the rest of the
+ * batch is written without it, as it would have been one by one. Batches of a task are written in order.
+ */
+@Service
+public class TaskWriteCoalescerImpl implements TaskWriteCoalescer, DisposableBean {
+
+    private final TaskService taskService;
+    private final JsonMergePatch jsonMergePatch;
+    private final WriteCoalescingProperties properties;
+    private final ConcurrentHashMap<Long, Batch> open = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, CompletableFuture<Void>> writes = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService timer;
+
+    private final Counter writeCount;
+    private final Counter mergedWrites;
+    private final DistributionSummary batchSize;
+
+    private volatile boolean closed;
+
+    public TaskWriteCoalescerImpl(TaskService taskService,
+                                  JsonMergePatch jsonMergePatch,
+                                  WriteCoalescingProperties properties,
+                                  MeterRegistry meterRegistry) {
+        if (properties.maxMerged() < 1) {
+            throw new IllegalArgumentException("kanban.tasks.coalescing.max-merged must be at least 1");
+        }
+        this.taskService = taskService;
+        this.jsonMergePatch = jsonMergePatch;
+        this.properties = properties;
+        this.timer = properties.enabled()
+                ? Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("task-write-coalescer").daemon().factory())
+                : null;
+        this.writeCount = meterRegistry.counter("kanban.tasks.coalescing.writes");
+        this.mergedWrites = meterRegistry.counter("kanban.tasks.coalescing.merged");
+        this.batchSize = DistributionSummary.builder("kanban.tasks.coalescing.batch.size").register(meterRegistry);
+    }
+
+    @Override
+    public Optional<TaskDTO> patchTask(Long id, String patchJson, Long expectedVersion) {
+        TaskPatch patch;
+        try {
+            patch = jsonMergePatch.compile(patchJson);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed merge patch", e);
+        }
+        Long version = patch.version() != null ? patch.version() : expectedVersion;
+        if (!properties.enabled() || closed) return taskService.patchTask(id, patch, version);
+
+        try {
+            return submit(id, patch, version).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private CompletableFuture<Optional<TaskDTO>> submit(Long id, TaskPatch patch, Long expectedVersion) {
+        Member member = new Member(patch, new CompletableFuture<>());
+        open.compute(id, (key, batch) -> {
+            if (batch != null && expectedVersion == null) {
+                batch.members.add(member);
+                if (batch.members.size() < properties.maxMerged()) return batch;
+                close(key, batch);
+                return null;
+            }
+            if (batch != null) close(key, batch);
+
+            Batch fresh = new Batch(expectedVersion);
+            fresh.members.add(member);
+            timer.schedule(() -> closeIfOpen(key, fresh), properties.window().toMillis(), TimeUnit.MILLISECONDS);
+            return fresh;
+        });
+        return member.result;
+    }
+
+    private void closeIfOpen(Long id, Batch batch) {
+        open.computeIfPresent(id, (key, current) -> {
+            if (current != batch) return current;
+            close(key, current);
+            return null;
+        });
+    }
+
+    //always called under the lock of the task's open entry, so the previous write of the task is never missed
+    private void close(Long id, Batch batch) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        CompletableFuture<Void> previous = writes.put(id, done);
+        Thread.ofVirtual().name("task-write-" + id).start(() -> {
+            try {
+                if (previous != null) previous.join();
+                batchSize.record(batch.members.size());
+                write(id, batch.members, batch.expectedVersion);
+            } finally {
+                done.complete(null);
+                writes.remove(id, done);
+            }
+        });
+    }
+
+    private void write(Long id, List<Member> members, Long expectedVersion) {
+        try {
+            TaskPatch merged = members.stream().map(Member::patch).reduce(TaskPatch::merge).orElseThrow();
+            Optional<TaskDTO> result = taskService.patchTask(id, merged, expectedVersion);
+            writeCount.increment();
+            mergedWrites.increment(members.size() - 1);
+            members.forEach(member -> member.result.complete(result));
+        } catch (OptimisticLockException e) {
+            //only the first member can carry an expected version
+            members.get(0).result.completeExceptionally(e);
+            if (members.size() > 1) write(id, members.subList(1, members.size()), null);
+        } catch (RuntimeException e) {
+            members.forEach(member -> member.result.completeExceptionally(e));
+        }
+    }
+
+    //writes what is still waiting so no caller is left hanging
+    @Override
+    public void destroy() {
+        if (timer == null) return;
+        closed = true;
+        timer.shutdownNow();
+        for (Long id : open.keySet()) {
+            open.computeIfPresent(id, (key, batch) -> {
+                close(key, batch);
+                return null;
+            });
+        }
+        writes.values().forEach(CompletableFuture::join);
+    }
+
+    private record Member(TaskPatch patch, CompletableFuture<Optional<TaskDTO>> result) {}
+
+    private static final class Batch {
+        private final Long expectedVersion;
+        private final List<Member> members = new ArrayList<>();
+
+        private Batch(Long expectedVersion) {
+            this.expectedVersion = expectedVersion;
+        }
+    }
+}
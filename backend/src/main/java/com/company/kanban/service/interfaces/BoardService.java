@@ -0,0 +1,8 @@
+package com.company.kanban.service.interfaces;
+
+import com.company.kanban.model.dto.BoardSnapshot;
+
+public interface BoardService {
+
+    BoardSnapshot getBoard(int size);
+}
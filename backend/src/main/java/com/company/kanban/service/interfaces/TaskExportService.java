@@ -0,0 +1,9 @@
+package com.company.kanban.service.interfaces;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface TaskExportService {
+
+    long exportNdjson(OutputStream out) throws IOException;
+}
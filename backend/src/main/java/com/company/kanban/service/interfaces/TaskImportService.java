@@ -0,0 +1,11 @@
+package com.company.kanban.service.interfaces;
+
+import com.company.kanban.model.dto.TaskImportResult;
+import org.springframework.http.MediaType;
+
+import java.io.InputStream;
+
+public interface TaskImportService {
+
+    TaskImportResult importTasks(InputStream body, MediaType contentType);
+}
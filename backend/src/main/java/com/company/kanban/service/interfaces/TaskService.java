@@ -1,6 +1,11 @@
 package com.company.kanban.service.interfaces;
 
+import com.company.kanban.mapper.TaskPatch;
+import com.company.kanban.model.dto.BulkTaskUpdateRequest;
+import com.company.kanban.model.dto.BulkTaskUpdateResult;
+import com.company.kanban.model.dto.TaskCursorPage;
 import com.company.kanban.model.dto.TaskDTO;
+import com.company.kanban.model.dto.TaskSearchPage;
 import com.company.kanban.model.entity.Task;
 import com.company.kanban.model.enums.Priority;
 import com.company.kanban.model.enums.Status;
@@ -8,23 +13,42 @@ import jakarta.persistence.OptimisticLockException;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
-import java.io.IOException;
+import java.util.Map;
 import java.util.Optional;
 
 public interface TaskService {
 
     Page<TaskDTO> getTasks(Status status, Priority priority, Pageable pageable);
 
+    Slice<TaskDTO> getTaskSlice(Status status, Priority priority, Pageable pageable);
+
+    Slice<TaskDTO> getTasksWithoutLinks(Status status, Priority priority, Pageable pageable);
+
+    Long estimateTaskCount(Status status, Priority priority);
+
+    TaskCursorPage getTasksAfter(Status status, Priority priority, String sortParam, String after, int size);
+
+    TaskSearchPage searchTasks(String query, Status status, Priority priority, String after, int size);
+
     Optional<TaskDTO> getTaskById(Long id);
 
+    Optional<Task> getTaskEntity(Long id);
+
     TaskDTO createTask(Task task);
 
     TaskDTO updateTask(Task task) throws OptimisticLockException, OptimisticLockingFailureException;
 
     void deleteTask(Long id) throws OptimisticLockException, OptimisticLockingFailureException;
 
-    TaskDTO partialUpdateTask(Task task, String jsonPartialUpdate) throws IOException, OptimisticLockException, OptimisticLockingFailureException;
+    BulkTaskUpdateResult bulkUpdate(BulkTaskUpdateRequest request);
+
+    Optional<TaskDTO> patchTask(Long id, String patchJson, Long expectedVersion) throws OptimisticLockException;
+
+    Optional<TaskDTO> patchTask(Long id, Map<String, Object> columns, Long expectedVersion) throws OptimisticLockException;
+
+    Optional<TaskDTO> patchTask(Long id, TaskPatch patch, Long expectedVersion) throws OptimisticLockException;
 
     Pageable buildPageable(int page, int size, String sortParam);
 }
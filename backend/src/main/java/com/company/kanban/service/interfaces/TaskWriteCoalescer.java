@@ -0,0 +1,11 @@
+package com.company.kanban.service.interfaces;
+
+import com.company.kanban.model.dto.TaskDTO;
+import jakarta.persistence.OptimisticLockException;
+
+import java.util.Optional;
+
+public interface TaskWriteCoalescer {
+
+    Optional<TaskDTO> patchTask(Long id, String patchJson, Long expectedVersion) throws OptimisticLockException;
+}
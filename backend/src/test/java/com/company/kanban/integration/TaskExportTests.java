@@ -0,0 +1,80 @@
+package com.company.kanban.integration;
+
+import com.company.kanban.model.entity.Task;
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+import com.company.kanban.model.event.TaskSnapshot;
+import com.company.kanban.repository.TaskRepository;
+import com.company.kanban.service.interfaces.TaskExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@ActiveProfiles("test")
+@SpringBootTest
+public class TaskExportTests {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:17");
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    TaskExportService taskExportService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void exportNdjson_WritesEveryTaskOnItsOwnLineInIdOrder() throws Exception {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 2500; i++) {
+            tasks.add(Task.builder()
+                    .title("Task " + i)
+                    .description("Line one\nline two of " + i)
+                    .status(Status.values()[i % 3])
+                    .priority(Priority.values()[i % 3])
+                    .build());
+        }
+        taskRepository.saveAll(tasks);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = taskExportService.exportNdjson(out);
+
+        String ndjson = out.toString(StandardCharsets.UTF_8);
+        String[] lines = ndjson.split("\n");
+        assertThat(count).isEqualTo(2500);
+        assertThat(lines).hasSize(2500);
+        assertThat(lines).allSatisfy(line -> assertThat(line).startsWith("{").endsWith("}"));
+        assertThat(ndjson).endsWith("}\n");
+
+        TaskSnapshot first = objectMapper.readValue(lines[0], TaskSnapshot.class);
+        TaskSnapshot last = objectMapper.readValue(lines[2499], TaskSnapshot.class);
+        assertThat(first.title()).isEqualTo("Task 1");
+        assertThat(first.description()).isEqualTo("Line one\nline two of 1");
+        assertThat(last.title()).isEqualTo("Task 2500");
+        assertThat(last.id()).isGreaterThan(first.id());
+    }
+}
@@ -0,0 +1,112 @@
+package com.company.kanban.integration;
+
+import com.company.kanban.model.dto.TaskImportResult;
+import com.company.kanban.model.entity.Task;
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+import com.company.kanban.repository.TaskRepository;
+import com.company.kanban.service.interfaces.TaskImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Testcontainers
+@ActiveProfiles("test")
+@SpringBootTest
+public class TaskImportTests {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:17");
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    TaskImportService taskImportService;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void importTasks_Ndjson_CopiesValidRowsAndReportsInvalidOnes() {
+        String body = """
+                {"title":"First task","description":"Imported","status":"TO_DO","priority":"LOW"}
+                {"title":"x","description":"Too short","status":"DONE","priority":"HIGH"}
+
+                {"title":"Third task","description":"Imported","status":"DONE","priority":"HIGH"}
+                not json
+                """;
+
+        TaskImportResult result = taskImportService.importTasks(stream(body), MediaType.parseMediaType("application/x-ndjson"));
+
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(2);
+        assertThat(result.errors()).hasSize(2);
+        assertThat(result.errors().get(0)).startsWith("line 2: title");
+        assertThat(result.errors().get(1)).startsWith("line 5:");
+
+        List<Task> tasks = taskRepository.findAll(Sort.by("id"));
+        assertThat(tasks).extracting(Task::getTitle).containsExactly("First task", "Third task");
+        assertThat(tasks.get(1).getStatus()).isEqualTo(Status.DONE);
+        assertThat(tasks.get(1).getVersion()).isZero();
+    }
+
+    @Test
+    void importTasks_Csv_HandlesQuotedCommasAndLineBreaks() {
+        String body = "priority,title,status,description\r\n"
+                + "MED,\"Plain, with comma\",IN_PROGRESS,\"Says \"\"hi\"\"\non two lines\"\r\n"
+                + "HIGH,Bad status,SOMEDAY,Description\r\n"
+                + "LOW,Last one,TO_DO,Description\r\n";
+
+        TaskImportResult result = taskImportService.importTasks(stream(body), MediaType.parseMediaType("text/csv"));
+
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(1);
+        assertThat(result.errors()).containsExactly("line 4: status: unknown value SOMEDAY");
+
+        List<Task> tasks = taskRepository.findAll(Sort.by("id"));
+        assertThat(tasks).hasSize(2);
+        assertThat(tasks.get(0).getTitle()).isEqualTo("Plain, with comma");
+        assertThat(tasks.get(0).getDescription()).isEqualTo("Says \"hi\"\non two lines");
+        assertThat(tasks.get(0).getPriority()).isEqualTo(Priority.MED);
+        assertThat(tasks.get(1).getTitle()).isEqualTo("Last one");
+    }
+
+    @Test
+    void importTasks_CsvWithoutRequiredColumns_Throws() {
+        assertThatThrownBy(() -> taskImportService.importTasks(stream("title,status\nTask,DONE\n"),
+                MediaType.parseMediaType("text/csv")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("line 1: CSV header must contain title,description,status,priority");
+        assertThat(taskRepository.count()).isZero();
+    }
+
+    @Test
+    void importTasks_UnsupportedFormat_ThrowsWithTheFormat() {
+        assertThatThrownBy(() -> taskImportService.importTasks(stream("<tasks/>"), MediaType.APPLICATION_XML))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("application/xml");
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
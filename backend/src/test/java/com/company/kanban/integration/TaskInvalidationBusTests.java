@@ -0,0 +1,131 @@
+package com.company.kanban.integration;
+
+import com.company.kanban.KanbanApplication;
+import com.company.kanban.cache.TaskEntityCache;
+import com.company.kanban.model.dto.TaskDTO;
+import com.company.kanban.model.entity.Task;
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+import com.company.kanban.service.interfaces.TaskService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//two application contexts sharing one database, like two nodes behind a load balancer
+@Testcontainers
+public class TaskInvalidationBusTests {
+
+    @Container
+    static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:17");
+
+    static ConfigurableApplicationContext nodeA;
+    static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeA != null) nodeA.close();
+        if (nodeB != null) nodeB.close();
+    }
+
+    @Test
+    void updateOnOneNode_EvictsCachesOnOtherNode() {
+        TaskService serviceA = nodeA.getBean(TaskService.class);
+        TaskService serviceB = nodeB.getBean(TaskService.class);
+        TaskEntityCache entityCacheB = nodeB.getBean(TaskEntityCache.class);
+
+        TaskDTO created = serviceA.createTask(task("Bus task", Status.TO_DO));
+        PageRequest firstPage = PageRequest.of(0, 10, Sort.by("id"));
+
+        assertThat(serviceB.getTaskById(created.getId())).isPresent();
+        assertThat(serviceB.getTasks(Status.TO_DO, null, firstPage).getContent())
+                .extracting(TaskDTO::getId)
+                .contains(created.getId());
+
+        Task moved = serviceA.getTaskEntity(created.getId()).orElseThrow();
+        moved.setStatus(Status.DONE);
+        serviceA.updateTask(moved);
+
+        awaitTrue(() -> entityCacheB.peek(created.getId()).isEmpty());
+        assertThat(serviceB.getTaskById(created.getId()))
+                .map(TaskDTO::getStatus)
+                .contains(Status.DONE);
+        awaitTrue(() -> serviceB.getTasks(Status.TO_DO, null, firstPage).getContent().stream()
+                .noneMatch(task -> task.getId().equals(created.getId())));
+    }
+
+    @Test
+    void lostListenConnection_ResyncsOnReconnect() throws Exception {
+        TaskService serviceB = nodeB.getBean(TaskService.class);
+        TaskEntityCache entityCacheB = nodeB.getBean(TaskEntityCache.class);
+
+        TaskDTO created = nodeA.getBean(TaskService.class).createTask(task("Resync task", Status.IN_PROGRESS));
+        serviceB.getTaskById(created.getId());
+        assertThat(entityCacheB.peek(created.getId())).isPresent();
+
+        try (Connection connection = DriverManager.getConnection(postgreSQLContainer.getJdbcUrl(),
+                postgreSQLContainer.getUsername(), postgreSQLContainer.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute("SELECT pg_terminate_backend(pid) FROM pg_stat_activity " +
+                    "WHERE query LIKE 'LISTEN%' AND pid <> pg_backend_pid()");
+        }
+
+        awaitTrue(() -> entityCacheB.peek(created.getId()).isEmpty());
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(KanbanApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=" + postgreSQLContainer.getJdbcUrl(),
+                "--spring.datasource.username=" + postgreSQLContainer.getUsername(),
+                "--spring.datasource.password=" + postgreSQLContainer.getPassword(),
+                "--spring.jpa.show-sql=false",
+                "--kanban.cache.bus.enabled=true",
+                "--kanban.cache.bus.flush-interval=10ms",
+                "--kanban.cache.bus.reconnect-delay=100ms");
+    }
+
+    private static Task task(String title, Status status) {
+        return Task.builder()
+                .title(title)
+                .description("Description")
+                .status(status)
+                .priority(Priority.MED)
+                .build();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met within 10 seconds");
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.company.kanban.integration;
+
+import com.company.kanban.mapper.TaskDtoAssembler;
+import com.company.kanban.model.dto.TaskDTO;
+import com.company.kanban.model.entity.Task;
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+import com.company.kanban.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//the DTO projection listing returns what the entity + assembler path does, ListingBenchmark compares their allocations
+@Testcontainers
+@ActiveProfiles("test")
+@SpringBootTest
+public class TaskProjectionTests {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:17");
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    TaskDtoAssembler taskDtoAssembler;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+    private final Pageable pageable = PageRequest.of(0, 100, Sort.by("id"));
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 500; i++) {
+            tasks.add(Task.builder()
+                    .title("Task " + i)
+                    .description("Description " + i)
+                    .status(Status.TO_DO)
+                    .priority(Priority.values()[i % 3])
+                    .build());
+        }
+        taskRepository.saveAll(tasks);
+
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    void projection_MatchesEntityMapping() {
+        List<TaskDTO> entities = readOnly.execute(status ->
+                taskRepository.findByStatus(Status.TO_DO, pageable).map(taskDtoAssembler::toModel).getContent());
+        List<TaskDTO> projections = readOnly.execute(status ->
+                taskRepository.findDtosByStatus(Status.TO_DO, pageable).map(taskDtoAssembler::addLinks).getContent());
+
+        assertThat(projections)
+                .hasSize(100)
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(entities);
+    }
+}
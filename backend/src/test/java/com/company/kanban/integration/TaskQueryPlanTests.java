@@ -0,0 +1,309 @@
+package com.company.kanban.integration;
+
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+import com.company.kanban.repository.TaskRepository;
+import com.company.kanban.service.interfaces.TaskService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * Plan regression suite for the TaskRepository listing queries. The schema comes from the Liquibase
+ * changelog (not Hibernate ddl) so the real indexes are tested, the table is seeded and analyzed, and
+ * every repository method is called with every sort buildPageable and the keyset listings take. The
+ * statements it sends are recorded at the DataSource with their bound values and explained. A Seq Scan
+ * or Sort node means a query lost its index.
+ * The sorts are the ones the board offers in both directions plus multi-column ones. A descending sort
+ * in one direction throughout is the same index read backward, mixed directions are not offered.
+ * description and version have no index on purpose: description is unbounded text and version changes
+ * on every write, which would rule out HOT updates. Sorting by them may only be a top-N sort under the limit.
+ * Count queries are left out on purpose: counting a third of the table may legitimately scan it,
+ * slice mode (count=false) exists to avoid them.
+ */
+@Testcontainers
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "spring.liquibase.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TaskQueryPlanTests {
+
+    private static final int ROWS = 100_000;
+    private static final List<String> SORTS = List.of(
+            "id", "id,desc", "title", "title,desc", "status", "status,desc", "priority", "priority,desc",
+            "description", "version",
+            "priority;title", "priority,desc;title,desc", "status;priority", "status;title", "status,desc;title,desc");
+    private static final List<String> UNINDEXED_SORTS = List.of("description", "version");
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:17");
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    TaskService taskService;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO task (title, description, status, priority, version)
+                SELECT 'Task ' || g, 'Description ' || g,
+                       (ARRAY['TO_DO', 'IN_PROGRESS', 'DONE'])[1 + g % 3],
+                       (ARRAY['LOW', 'MED', 'HIGH'])[1 + (g / 3) % 3],
+                       0
+                FROM generate_series(1, ?) AS g
+                """, ROWS);
+        jdbcTemplate.execute("VACUUM ANALYZE task");
+    }
+
+    //a sort by a column the query filters on is a constant and left out
+    Stream<Arguments> repositoryQueries() {
+        List<Arguments> queries = new ArrayList<>();
+        for (String sort : SORTS) {
+            Pageable first = taskService.buildPageable(0, 10, sort);
+            boolean indexed = UNINDEXED_SORTS.stream().noneMatch(column -> first.getSort().getOrderFor(column) != null);
+            boolean byStatus = first.getSort().getOrderFor("status") != null;
+            boolean byPriority = first.getSort().getOrderFor("priority") != null;
+
+            queries.add(query("findAll sort=" + sort, indexed, () -> taskRepository.findAll(first)));
+            queries.add(query("findAllDtos sort=" + sort, indexed, () -> taskRepository.findAllDtos(first)));
+            queries.add(query("findDtoSliceBy sort=" + sort, indexed, () -> taskRepository.findDtoSliceBy(first)));
+            if (!byStatus) {
+                queries.add(query("findByStatus sort=" + sort, indexed, () -> taskRepository.findByStatus(Status.TO_DO, first)));
+                queries.add(query("findDtosByStatus sort=" + sort, indexed, () -> taskRepository.findDtosByStatus(Status.TO_DO, first)));
+                queries.add(query("findDtoSliceByStatus sort=" + sort, indexed, () -> taskRepository.findDtoSliceByStatus(Status.TO_DO, first)));
+            }
+            if (!byPriority) {
+                queries.add(query("findByPriority sort=" + sort, indexed, () -> taskRepository.findByPriority(Priority.HIGH, first)));
+                queries.add(query("findDtosByPriority sort=" + sort, indexed, () -> taskRepository.findDtosByPriority(Priority.HIGH, first)));
+                queries.add(query("findDtoSliceByPriority sort=" + sort, indexed, () -> taskRepository.findDtoSliceByPriority(Priority.HIGH, first)));
+            }
+            if (!byStatus && !byPriority) {
+                queries.add(query("findByStatusAndPriority sort=" + sort, indexed,
+                        () -> taskRepository.findByStatusAndPriority(Status.DONE, Priority.LOW, first)));
+                queries.add(query("findDtosByStatusAndPriority sort=" + sort, indexed,
+                        () -> taskRepository.findDtosByStatusAndPriority(Status.DONE, Priority.LOW, first)));
+                queries.add(query("findDtoSliceByStatusAndPriority sort=" + sort, indexed,
+                        () -> taskRepository.findDtoSliceByStatusAndPriority(Status.DONE, Priority.LOW, first)));
+            }
+        }
+
+        Pageable deep = taskService.buildPageable(50, 10, null);
+        queries.add(query("findAll sort=id page=50", true, () -> taskRepository.findAll(deep)));
+        queries.add(query("findDtoSliceByStatus sort=id page=50", true, () -> taskRepository.findDtoSliceByStatus(Status.TO_DO, deep)));
+
+        //keyset pages past the first, the sort ends with id like TaskServiceImpl.keysetSort makes it
+        Sort byTitle = Sort.by("title", "id");
+        ScrollPosition afterTitle = ScrollPosition.forward(Map.of("title", "Task 500", "id", 500L));
+        queries.add(query("findAllBy keyset sort=title,id", true,
+                () -> taskRepository.findAllBy(afterTitle, byTitle, Limit.of(10))));
+        queries.add(query("findAllByStatus keyset sort=title,id", true,
+                () -> taskRepository.findAllByStatus(Status.TO_DO, afterTitle, byTitle, Limit.of(10))));
+        Sort byTitleDesc = Sort.by(Sort.Direction.DESC, "title", "id");
+        queries.add(query("findAllBy keyset sort=title,desc;id,desc", true,
+                () -> taskRepository.findAllBy(afterTitle, byTitleDesc, Limit.of(10))));
+        Sort byPriorityTitle = Sort.by("priority", "title", "id");
+        ScrollPosition afterPriorityTitle = ScrollPosition.forward(Map.of("priority", "MED", "title", "Task 500", "id", 500L));
+        queries.add(query("findAllBy keyset sort=priority,title,id", true,
+                () -> taskRepository.findAllBy(afterPriorityTitle, byPriorityTitle, Limit.of(10))));
+        ScrollPosition afterId = ScrollPosition.forward(Map.of("id", 50_000L));
+        queries.add(query("findAllBy keyset sort=id", true,
+                () -> taskRepository.findAllBy(afterId, Sort.by("id"), Limit.of(10))));
+        queries.add(query("findAllByPriority keyset sort=id", true,
+                () -> taskRepository.findAllByPriority(Priority.HIGH, afterId, Sort.by("id"), Limit.of(10))));
+        queries.add(query("findAllByStatusAndPriority keyset sort=id", true,
+                () -> taskRepository.findAllByStatusAndPriority(Status.DONE, Priority.LOW, afterId, Sort.by("id"), Limit.of(10))));
+        ScrollPosition afterVersion = ScrollPosition.forward(Map.of("version", 0L, "id", 50_000L));
+        queries.add(query("findAllBy keyset sort=version,id", false,
+                () -> taskRepository.findAllBy(afterVersion, Sort.by("version", "id"), Limit.of(10))));
+
+        queries.add(query("findById", true, () -> taskRepository.findById(4242L)));
+        queries.add(query("estimateCount", true, () -> taskRepository.estimateCount("TO_DO", "HIGH")));
+        queries.add(query("estimateCount unfiltered", true, () -> taskRepository.estimateCount(null, null)));
+        return queries.stream();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void repositoryQuery_UsesIndexWithoutSeqScanOrSort(String name, boolean indexed, Runnable call) throws Exception {
+        List<RecordedStatement> statements = StatementRecorder.record(call).stream()
+                .filter(statement -> !statement.sql().startsWith("select count("))
+                .toList();
+        assertThat(statements).as("statements of %s", name).isNotEmpty();
+
+        for (RecordedStatement statement : statements) {
+            String json = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + statement.inlined(), String.class);
+            JsonNode plan = objectMapper.readTree(json).get(0).get("Plan");
+
+            List<String> nodeTypes = new ArrayList<>();
+            collectTaskNodeTypes(plan, nodeTypes);
+
+            if (indexed) {
+                assertThat(nodeTypes)
+                        .as("plan of %s: %s", name, nodeTypes)
+                        .doesNotContain("Seq Scan", "Sort", "Incremental Sort");
+            } else {
+                assertThat(plan.get("Node Type").asText())
+                        .as("plan of %s: %s", name, nodeTypes)
+                        .isEqualTo("Limit");
+            }
+        }
+    }
+
+    private static Arguments query(String name, boolean indexed, Runnable call) {
+        return Arguments.of(name, indexed, call);
+    }
+
+    //node types, scans only when they read task, estimateCount may scan the small catalog tables as it likes
+    private void collectTaskNodeTypes(JsonNode node, List<String> nodeTypes) {
+        JsonNode relation = node.get("Relation Name");
+        if (relation == null || relation.asText().equals("task")) {
+            nodeTypes.add(node.get("Node Type").asText());
+        }
+        JsonNode children = node.get("Plans");
+        if (children != null) {
+            children.forEach(child -> collectTaskNodeTypes(child, nodeTypes));
+        }
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class StatementRecorderConfiguration {
+
+        @Bean
+        static BeanPostProcessor statementRecorder() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? StatementRecorder.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    //a prepared statement as it was executed, ? placeholders in order of their values
+    record RecordedStatement(String sql, List<Object> values) {
+
+        String inlined() {
+            StringBuilder sql = new StringBuilder();
+            int value = 0;
+            for (char c : sql().toCharArray()) {
+                if (c == '?') {
+                    sql.append(literal(values.get(value++)));
+                } else {
+                    sql.append(c);
+                }
+            }
+            return sql.toString();
+        }
+
+        private static String literal(Object value) {
+            if (value == null) return "NULL";
+            if (value instanceof Number || value instanceof Boolean) return value.toString();
+            return "'" + value.toString().replace("'", "''") + "'";
+        }
+    }
+
+    //records what the application sends through the DataSource while a call runs, proxies only, no driver involved
+    static final class StatementRecorder {
+
+        private static final ThreadLocal<List<RecordedStatement>> RECORDING = new ThreadLocal<>();
+
+        private StatementRecorder() {}
+
+        static List<RecordedStatement> record(Runnable call) {
+            List<RecordedStatement> statements = Collections.synchronizedList(new ArrayList<>());
+            RECORDING.set(statements);
+            try {
+                call.run();
+            } finally {
+                RECORDING.remove();
+            }
+            return statements;
+        }
+
+        static DataSource wrap(DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (method, args, result) ->
+                    result instanceof Connection connection ? proxy(Connection.class, connection, StatementRecorder::onConnection) : result);
+        }
+
+        private static Object onConnection(Method method, Object[] args, Object result) {
+            if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                String sql = (String) args[0];
+                Map<Integer, Object> values = new TreeMap<>();
+                return proxy(PreparedStatement.class, statement, (call, callArgs, callResult) -> {
+                    if (call.getName().startsWith("set") && callArgs != null && callArgs.length >= 2
+                            && callArgs[0] instanceof Integer index) {
+                        values.put(index, call.getName().equals("setNull") ? null : callArgs[1]);
+                    } else if (call.getName().startsWith("execute") && RECORDING.get() != null) {
+                        RECORDING.get().add(new RecordedStatement(sql, new ArrayList<>(values.values())));
+                    }
+                    return callResult;
+                });
+            }
+            return result;
+        }
+
+        private interface AfterCall {
+            Object apply(Method method, Object[] args, Object result);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, AfterCall afterCall) {
+            InvocationHandler handler = (proxy, method, args) -> {
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                return afterCall.apply(method, args, result);
+            };
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+        }
+    }
+}
@@ -1,24 +1,33 @@
 package com.company.kanban.integration;
 
+import com.company.kanban.model.dto.TaskDTO;
 import com.company.kanban.model.entity.Task;
 import com.company.kanban.model.enums.Priority;
 import com.company.kanban.model.enums.Status;
+import com.company.kanban.repository.TaskJdbcRepository;
 import com.company.kanban.repository.TaskRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -36,6 +45,9 @@ public class TaskRepositoryTests {
     @Autowired
     TaskRepository taskRepository;
 
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
 
     @BeforeEach
     void setUp() {
@@ -252,6 +264,121 @@ public class TaskRepositoryTests {
                 );
     }
 
+    @Test
+    void TaskRepository_ScrollByKeyset_ReturnsEveryTaskOnce() {
+
+        for (int i = 1; i <= 25; i++) {
+            taskRepository.save(createTask("Task " + (i % 4), "Description " + i, Status.TO_DO, Priority.HIGH));
+        }
+        taskRepository.save(createTask("Other", "Description", Status.DONE, Priority.HIGH));
+
+        Sort sort = Sort.by("title").ascending().and(Sort.by("id").ascending());
+        List<Long> seen = new ArrayList<>();
+
+        Window<Task> window = taskRepository.findAllByStatus(Status.TO_DO, ScrollPosition.keyset(), sort, Limit.of(10));
+        seen.addAll(window.getContent().stream().map(Task::getId).toList());
+
+        while (window.hasNext()) {
+            window = taskRepository.findAllByStatus(Status.TO_DO, window.positionAt(window.size() - 1), sort, Limit.of(10));
+            seen.addAll(window.getContent().stream().map(Task::getId).toList());
+        }
+
+        assertThat(seen).hasSize(25).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void TaskRepository_FindDtoSliceByStatus_ReturnsHasNextWithoutTotal() {
+
+        for (int i = 1; i <= 15; i++) {
+            taskRepository.save(createTask("Task " + i, "Description", Status.TO_DO, Priority.LOW));
+        }
+
+        Slice<TaskDTO> first = taskRepository.findDtoSliceByStatus(Status.TO_DO, PageRequest.of(0, 10, Sort.by("id")));
+        Slice<TaskDTO> second = taskRepository.findDtoSliceByStatus(Status.TO_DO, PageRequest.of(1, 10, Sort.by("id")));
+
+        assertThat(first.getContent()).hasSize(10);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.getContent()).hasSize(5);
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    void TaskRepository_EstimateCount_UsesPlannerStatistics() {
+
+        for (int i = 1; i <= 30; i++) {
+            taskRepository.save(createTask("Task " + i, "Description", i <= 20 ? Status.TO_DO : Status.DONE, Priority.HIGH));
+        }
+        jdbcTemplate.execute("ANALYZE task");
+
+        assertThat(taskRepository.estimateCount(null, null)).isEqualTo(30L);
+        assertThat(taskRepository.estimateCount(Status.TO_DO.name(), null)).isEqualTo(20L);
+        assertThat(taskRepository.estimateCount(Status.DONE.name(), Priority.HIGH.name())).isEqualTo(10L);
+        assertThat(taskRepository.estimateCount(Status.IN_PROGRESS.name(), null)).isZero();
+    }
+
+    @Test
+    void TaskRepository_UpdateStatusAndPriority_ChecksVersionPerRowAndReturnsOldValues() {
+
+        Task first = taskRepository.save(createTask("First", "Description", Status.IN_PROGRESS, Priority.LOW));
+        Task second = taskRepository.save(createTask("Second", "Description", Status.IN_PROGRESS, Priority.HIGH));
+        Task stale = taskRepository.save(createTask("Stale", "Description", Status.IN_PROGRESS, Priority.MED));
+
+        List<TaskJdbcRepository.UpdatedRow> rows = taskRepository.updateStatusAndPriority(
+                new long[]{first.getId(), second.getId(), stale.getId(), Long.MAX_VALUE},
+                new long[]{first.getVersion(), second.getVersion(), stale.getVersion() + 1, 0},
+                Status.DONE, null);
+
+        assertThat(rows).extracting(row -> row.current().id())
+                .containsExactlyInAnyOrder(first.getId(), second.getId());
+        assertThat(rows).allSatisfy(row -> {
+            assertThat(row.previous().status()).isEqualTo(Status.IN_PROGRESS);
+            assertThat(row.current().status()).isEqualTo(Status.DONE);
+            assertThat(row.current().priority()).isEqualTo(row.previous().priority());
+            assertThat(row.current().version()).isEqualTo(row.previous().version() + 1);
+        });
+
+        assertThat(taskRepository.findById(stale.getId())).get()
+                .extracting(Task::getStatus).isEqualTo(Status.IN_PROGRESS);
+        assertThat(taskRepository.findById(second.getId())).get()
+                .extracting(Task::getStatus, Task::getPriority, Task::getVersion)
+                .containsExactly(Status.DONE, Priority.HIGH, second.getVersion() + 1);
+        assertThat(taskRepository.findExistingIds(new long[]{stale.getId(), Long.MAX_VALUE}))
+                .containsExactly(stale.getId());
+    }
+
+    @Test
+    void TaskRepository_Patch_UpdatesOnlyGivenColumnsAndChecksVersion() {
+
+        Task task = taskRepository.save(createTask("Title", "Description", Status.TO_DO, Priority.LOW));
+
+        Optional<TaskJdbcRepository.UpdatedRow> row = taskRepository.patch(task.getId(), task.getVersion(),
+                Map.of("status", Status.DONE, "title", "New title"));
+
+        assertThat(row).isPresent();
+        assertThat(row.get().previous().title()).isEqualTo("Title");
+        assertThat(row.get().previous().status()).isEqualTo(Status.TO_DO);
+        assertThat(row.get().current().title()).isEqualTo("New title");
+        assertThat(row.get().current().status()).isEqualTo(Status.DONE);
+        assertThat(row.get().current().description()).isEqualTo("Description");
+        assertThat(row.get().current().version()).isEqualTo(task.getVersion() + 1);
+
+        assertThat(taskRepository.patch(task.getId(), task.getVersion(), Map.of("priority", Priority.HIGH)))
+                .isEmpty();
+        assertThat(taskRepository.patch(task.getId(), null, Map.of("priority", Priority.HIGH)))
+                .get().extracting(updated -> updated.current().priority()).isEqualTo(Priority.HIGH);
+    }
+
+    @Test
+    void TaskRepository_Patch_SameValues_LeavesRowAndVersionAlone() {
+
+        Task task = taskRepository.save(createTask("Title", "Description", Status.TO_DO, Priority.LOW));
+
+        assertThat(taskRepository.patch(task.getId(), task.getVersion(), Map.of("title", "Title", "status", Status.TO_DO)))
+                .isEmpty();
+        assertThat(taskRepository.findById(task.getId())).get()
+                .extracting(Task::getVersion).isEqualTo(task.getVersion());
+    }
+
     private Task createTask(String title, String description, Status status, Priority priority) {
         Task task = new Task();
         task.setTitle(title);
@@ -0,0 +1,98 @@
+package com.company.kanban.integration;
+
+import com.company.kanban.model.dto.TaskSearchHit;
+import com.company.kanban.model.dto.TaskSearchPage;
+import com.company.kanban.model.entity.Task;
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+import com.company.kanban.repository.TaskRepository;
+import com.company.kanban.service.interfaces.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//the search_vector column only exists in the Liquibase schema, so Hibernate ddl is switched off here
+@Testcontainers
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "spring.liquibase.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+public class TaskSearchTests {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:17");
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    TaskService taskService;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void searchTasks_RanksTitleMatchesFirstAndHighlights() {
+        taskRepository.save(createTask("Quarterly report", "Collect numbers & totals", Status.TO_DO, Priority.HIGH));
+        taskRepository.save(createTask("Team lunch", "Book a table, then send the report link", Status.TO_DO, Priority.LOW));
+        taskRepository.save(createTask("Unrelated", "Nothing to see here", Status.TO_DO, Priority.LOW));
+
+        TaskSearchPage page = taskService.searchTasks("reports", null, null, null, 10);
+
+        assertThat(page.content()).extracting(hit -> hit.task().getTitle())
+                .containsExactly("Quarterly report", "Team lunch");
+        assertThat(page.next()).isNull();
+
+        TaskSearchHit first = page.content().get(0);
+        assertThat(first.rank()).isGreaterThan(page.content().get(1).rank());
+        assertThat(first.titleHighlight()).isEqualTo("Quarterly <mark>report</mark>");
+        assertThat(first.snippet()).contains("&amp;");
+        assertThat(page.content().get(1).snippet()).contains("<mark>report</mark>");
+        assertThat(first.task().getLink("self")).isPresent();
+    }
+
+    @Test
+    void searchTasks_KeysetPagesWithFilters_ReturnEveryHitOnce() {
+        for (int i = 1; i <= 25; i++) {
+            taskRepository.save(createTask("Deploy service " + i, "Deploy step " + i,
+                    i % 2 == 0 ? Status.DONE : Status.IN_PROGRESS, Priority.MED));
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String after = null;
+        do {
+            TaskSearchPage page = taskService.searchTasks("deploy", Status.DONE, null, after, 5);
+            page.content().forEach(hit -> {
+                assertThat(hit.task().getStatus()).isEqualTo(Status.DONE);
+                seen.add(hit.task().getId());
+            });
+            after = page.next();
+        } while (after != null);
+
+        assertThat(seen).hasSize(12).doesNotHaveDuplicates();
+    }
+
+    private Task createTask(String title, String description, Status status, Priority priority) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setStatus(status);
+        task.setPriority(priority);
+        return task;
+    }
+}
@@ -4,6 +4,7 @@ import com.company.kanban.model.dto.TaskDTO;
 import com.company.kanban.model.entity.Task;
 import com.company.kanban.model.enums.Priority;
 import com.company.kanban.model.enums.Status;
+import com.company.kanban.repository.TaskOutboxRepository;
 import com.company.kanban.repository.TaskRepository;
 import com.company.kanban.repository.UserRepository;
 import jakarta.persistence.EntityManagerFactory;
@@ -46,6 +47,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
         webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
         properties = {
                 "spring.liquibase.enabled=false",
+                "kanban.cache.bus.enabled=false",
                 "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration,org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration"
         }
 )
@@ -57,6 +59,9 @@ public class WebSocketTests {
     @MockitoBean
     private TaskRepository taskRepository;
 
+    @MockitoBean
+    private TaskOutboxRepository taskOutboxRepository;
+
     @MockitoBean
     private DataSource dataSource;
 
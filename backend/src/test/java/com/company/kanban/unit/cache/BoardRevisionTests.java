@@ -0,0 +1,61 @@
+package com.company.kanban.unit.cache;
+
+import com.company.kanban.cache.BoardRevision;
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+import com.company.kanban.model.event.AllTasksChangedEvent;
+import com.company.kanban.model.event.TaskChangedEvent;
+import com.company.kanban.model.event.TaskSnapshot;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BoardRevisionTests {
+
+    private final BoardRevision boardRevision = new BoardRevision();
+
+    @Test
+    void eTag_WithoutBus_IsLocalToTheProcess() {
+        String before = boardRevision.eTag();
+
+        boardRevision.onTaskChanged(TaskChangedEvent.created(snapshot(1L)));
+
+        assertThat(boardRevision.eTag()).isNotEqualTo(before).isNotEqualTo(new BoardRevision().eTag());
+    }
+
+    @Test
+    void eTag_Shared_IsTheSameOnEveryNodeAtTheSameRevision() {
+        BoardRevision otherNode = new BoardRevision();
+        boardRevision.resync(5);
+        otherNode.resync(5);
+
+        assertThat(boardRevision.eTag()).isEqualTo(otherNode.eTag()).isEqualTo("\"b5\"");
+
+        otherNode.onTaskChanged(TaskChangedEvent.created(snapshot(1L)).asRemote());
+        otherNode.advance(6, -1);
+        boardRevision.advance(4, -1);
+
+        assertThat(otherNode.eTag()).isEqualTo("\"b6\"");
+        assertThat(boardRevision.eTag()).isEqualTo("\"b5\"");
+    }
+
+    @Test
+    void eTag_LocalChangeNotSentYet_IsOnlyThisNodes() {
+        boardRevision.resync(5);
+
+        boardRevision.onAllTasksChanged(new AllTasksChangedEvent(false));
+        String unsent = boardRevision.eTag();
+        boardRevision.advance(6, -1);
+
+        assertThat(unsent).isNotEqualTo("\"b5\"").startsWith("\"b5-");
+        assertThat(boardRevision.eTag()).startsWith("\"b6-");
+
+        boardRevision.advance(7, boardRevision.localChanges());
+
+        assertThat(boardRevision.eTag()).isEqualTo("\"b7\"");
+    }
+
+    private static TaskSnapshot snapshot(Long id) {
+        return new TaskSnapshot(id, 0L, "Task " + id, "Description", Status.TO_DO, Priority.MED);
+    }
+}
@@ -0,0 +1,121 @@
+package com.company.kanban.unit.cache;
+
+import com.company.kanban.cache.TaskCounters;
+import com.company.kanban.model.dto.TaskCount;
+import com.company.kanban.model.dto.TaskStats;
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+import com.company.kanban.model.event.TaskChangedEvent;
+import com.company.kanban.model.event.TaskSnapshot;
+import com.company.kanban.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TaskCountersTests {
+
+    private TaskRepository taskRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private TaskCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        counters = new TaskCounters(taskRepository, meterRegistry);
+    }
+
+    @Test
+    void load_FillsMatrixFromGroupBy() {
+        when(taskRepository.countByStatusAndPriority()).thenReturn(List.of(
+                new TaskCount(Status.TO_DO, Priority.LOW, 4L),
+                new TaskCount(Status.TO_DO, Priority.HIGH, 1L),
+                new TaskCount(Status.DONE, Priority.MED, 2L)));
+
+        counters.load();
+        TaskStats stats = counters.stats();
+
+        assertThat(stats.total()).isEqualTo(7);
+        assertThat(stats.byStatus()).containsExactly(
+                new TaskCount(Status.TO_DO, null, 5L),
+                new TaskCount(Status.IN_PROGRESS, null, 0L),
+                new TaskCount(Status.DONE, null, 2L));
+        assertThat(stats.byPriority()).extracting(TaskCount::count).containsExactly(4L, 2L, 1L);
+        assertThat(stats.byStatusAndPriority()).hasSize(9);
+        assertThat(counters.count(Status.DONE, Priority.MED)).isEqualTo(2);
+        assertThat(meterRegistry.get("kanban.tasks.stats.corrections").counter().count()).isZero();
+    }
+
+    @Test
+    void onTaskChanged_MovesCountsBetweenCells() {
+        when(taskRepository.countByStatusAndPriority()).thenReturn(List.of());
+        counters.load();
+
+        TaskSnapshot created = snapshot(Status.TO_DO, Priority.LOW);
+        TaskSnapshot moved = snapshot(Status.DONE, Priority.HIGH);
+        counters.onTaskChanged(TaskChangedEvent.created(created));
+        counters.onTaskChanged(TaskChangedEvent.created(created));
+        counters.onTaskChanged(TaskChangedEvent.updated(created, moved));
+        counters.onTaskChanged(TaskChangedEvent.deleted(moved));
+
+        assertThat(counters.count(Status.TO_DO, Priority.LOW)).isEqualTo(1);
+        assertThat(counters.count(Status.DONE, Priority.HIGH)).isZero();
+        assertThat(counters.count(Status.TO_DO)).isEqualTo(1);
+    }
+
+    @Test
+    void recheck_Drift_CorrectsCountsAndCountsCorrection() {
+        when(taskRepository.countByStatusAndPriority()).thenReturn(List.of());
+        counters.load();
+        counters.onTaskChanged(TaskChangedEvent.created(snapshot(Status.TO_DO, Priority.LOW)));
+
+        when(taskRepository.countByStatusAndPriority())
+                .thenReturn(List.of(new TaskCount(Status.IN_PROGRESS, Priority.MED, 3L)));
+
+        assertThat(counters.recheck()).isTrue();
+        assertThat(counters.count(Status.TO_DO, Priority.LOW)).isZero();
+        assertThat(counters.count(Status.IN_PROGRESS, Priority.MED)).isEqualTo(3);
+        assertThat(meterRegistry.get("kanban.tasks.stats.corrections").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void recheck_WriteDuringCount_KeepsIncrementalCounts() {
+        when(taskRepository.countByStatusAndPriority()).thenAnswer(invocation -> {
+            counters.onTaskChanged(TaskChangedEvent.created(snapshot(Status.DONE, Priority.LOW)));
+            return List.of();
+        });
+
+        assertThat(counters.recheck()).isFalse();
+        assertThat(counters.count(Status.DONE, Priority.LOW)).isEqualTo(1);
+    }
+
+    @Test
+    void recheck_WriteCommittedButNotYetReported_KeepsIncrementalCounts() {
+        when(taskRepository.countByStatusAndPriority()).thenReturn(List.of());
+        counters.load();
+
+        TaskChangedEvent created = TaskChangedEvent.created(snapshot(Status.DONE, Priority.LOW));
+        counters.onTaskCommitting(created);
+        //the count already sees the committed row, the event comes afterwards
+        when(taskRepository.countByStatusAndPriority())
+                .thenReturn(List.of(new TaskCount(Status.DONE, Priority.LOW, 1L)));
+
+        assertThat(counters.recheck()).isFalse();
+        counters.onTaskChanged(created);
+        counters.onTaskCompleted(created);
+
+        assertThat(counters.count(Status.DONE, Priority.LOW)).isEqualTo(1);
+        assertThat(counters.recheck()).isTrue();
+        assertThat(meterRegistry.get("kanban.tasks.stats.corrections").counter().count()).isZero();
+    }
+
+    private static TaskSnapshot snapshot(Status status, Priority priority) {
+        return new TaskSnapshot(1L, 0L, "Task", "Description", status, priority);
+    }
+}
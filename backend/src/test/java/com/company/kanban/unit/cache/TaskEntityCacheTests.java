@@ -0,0 +1,67 @@
+package com.company.kanban.unit.cache;
+
+import com.company.kanban.cache.TaskEntityCache;
+import com.company.kanban.config.TaskCacheProperties;
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+import com.company.kanban.model.event.TaskChangedEvent;
+import com.company.kanban.model.event.TaskSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TaskEntityCacheTests {
+
+    private TaskEntityCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TaskEntityCache(new TaskCacheProperties(100, Duration.ofMinutes(1)), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void get_LoadsOnlyOnce() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1L, id -> { loads.incrementAndGet(); return Optional.of(snapshot(id, 0L, "title")); });
+        Optional<TaskSnapshot> cached = cache.get(1L, id -> { loads.incrementAndGet(); return Optional.empty(); });
+
+        assertThat(cached).isPresent();
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void get_MissingTask_IsNotCached() {
+        assertThat(cache.get(1L, id -> Optional.empty())).isEmpty();
+        assertThat(cache.peek(1L)).isEmpty();
+    }
+
+    @Test
+    void refresh_OlderVersion_KeepsNewerEntry() {
+        cache.refresh(snapshot(1L, 3L, "newer"));
+        cache.refresh(snapshot(1L, 2L, "older"));
+
+        assertThat(cache.peek(1L)).map(TaskSnapshot::title).contains("newer");
+    }
+
+    @Test
+    void onTaskChanged_UpdateAndDelete_RefreshesAndEvicts() {
+        cache.refresh(snapshot(1L, 0L, "before"));
+
+        cache.onTaskChanged(TaskChangedEvent.updated(snapshot(1L, 0L, "before"), snapshot(1L, 1L, "after")));
+        assertThat(cache.peek(1L)).map(TaskSnapshot::version).contains(1L);
+
+        cache.onTaskChanged(TaskChangedEvent.deleted(snapshot(1L, 1L, "after")));
+        assertThat(cache.peek(1L)).isEmpty();
+    }
+
+    private TaskSnapshot snapshot(Long id, Long version, String title) {
+        return new TaskSnapshot(id, version, title, "description", Status.TO_DO, Priority.LOW);
+    }
+}
@@ -0,0 +1,121 @@
+package com.company.kanban.unit.cache;
+
+import com.company.kanban.cache.BoardRevision;
+import com.company.kanban.cache.TaskInvalidationBus;
+import com.company.kanban.config.InvalidationBusProperties;
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+import com.company.kanban.model.event.TaskChangedEvent;
+import com.company.kanban.model.event.TaskSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.context.ApplicationEventPublisher;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+//the publishing side only, the listener never gets a connection here
+public class TaskInvalidationBusTests {
+
+    private DataSource dataSource;
+    private Connection connection;
+    private PreparedStatement statement;
+    private ResultSet revisions;
+    private SimpleMeterRegistry meterRegistry;
+    private TaskInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        statement = mock(PreparedStatement.class);
+        revisions = mock(ResultSet.class);
+        when(revisions.next()).thenReturn(true);
+        when(revisions.getLong(1)).thenReturn(7L);
+        when(statement.executeQuery()).thenReturn(revisions);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(dataSource.getConnection()).thenReturn(connection);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.stop();
+    }
+
+    @Test
+    void failedSend_IsFollowedByReset() throws SQLException {
+        when(dataSource.getConnection())
+                .thenThrow(new SQLException("database down"))
+                .thenReturn(connection);
+        start(100);
+
+        bus.onTaskChanged(TaskChangedEvent.created(snapshot(1L)));
+
+        verifyResetSent();
+        assertThat(meterRegistry.get("kanban.cache.bus.failed.sends").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void send_TakesTheNextBoardRevisionInTheNotifyTransaction() throws SQLException {
+        start(100);
+
+        bus.onTaskChanged(TaskChangedEvent.created(snapshot(1L)));
+
+        verify(statement, timeout(2000)).setString(eq(2), argThat(payload -> payload.contains("\"revision\":7")));
+        verify(connection, timeout(2000)).commit();
+        verify(connection).setAutoCommit(false);
+    }
+
+    @Test
+    void fullQueue_TurnsIntoReset() throws SQLException {
+        start(2);
+
+        for (long id = 1; id <= 50; id++) {
+            bus.onTaskChanged(TaskChangedEvent.created(snapshot(id)));
+        }
+
+        verifyResetSent();
+        assertThat(meterRegistry.get("kanban.cache.bus.overflows").counter().count()).isPositive();
+    }
+
+    private void start(int maxPending) {
+        JdbcConnectionDetails connectionDetails = mock(JdbcConnectionDetails.class);
+        //parks the listener until stop() interrupts it
+        when(connectionDetails.getJdbcUrl()).thenAnswer(invocation -> {
+            Thread.sleep(Long.MAX_VALUE);
+            return null;
+        });
+        InvalidationBusProperties properties = new InvalidationBusProperties(true, "task_invalidation",
+                Duration.ofMillis(10), Duration.ofMillis(100), Duration.ofMillis(50), maxPending);
+        bus = new TaskInvalidationBus(dataSource, connectionDetails, new ObjectMapper().findAndRegisterModules(),
+                mock(ApplicationEventPublisher.class), properties, new BoardRevision(), meterRegistry);
+        bus.start();
+    }
+
+    private void verifyResetSent() throws SQLException {
+        verify(statement, timeout(2000).atLeastOnce()).setString(eq(2), argThat(payload -> payload.contains("\"reset\":true")));
+    }
+
+    private static TaskSnapshot snapshot(Long id) {
+        return new TaskSnapshot(id, 0L, "Task " + id, "Description", Status.TO_DO, Priority.MED);
+    }
+}
@@ -0,0 +1,85 @@
+package com.company.kanban.unit.cache;
+
+import com.company.kanban.cache.TaskPageCacheIndex;
+import com.company.kanban.cache.TaskPageKey;
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+import com.company.kanban.model.event.TaskChangedEvent;
+import com.company.kanban.model.event.TaskSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TaskPageCacheIndexTests {
+
+    private Cache cache;
+    private SimpleMeterRegistry meterRegistry;
+    private TaskPageCacheIndex index;
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(TaskPageCacheIndex.CACHE_NAME);
+        cache = cacheManager.getCache(TaskPageCacheIndex.CACHE_NAME);
+        meterRegistry = new SimpleMeterRegistry();
+        index = new TaskPageCacheIndex(cacheManager, meterRegistry);
+    }
+
+    @Test
+    void keyFor_DifferentSort_ReturnsDifferentKeys() {
+        TaskPageKey byTitle = index.keyFor(Status.TO_DO, null, PageRequest.of(0, 10, Sort.by("title")));
+        TaskPageKey byId = index.keyFor(Status.TO_DO, null, PageRequest.of(0, 10, Sort.by("id")));
+
+        assertThat(byTitle).isNotEqualTo(byId);
+    }
+
+    @Test
+    void keyFor_PageAndSliceView_ReturnsDifferentKeys() {
+        TaskPageKey page = index.keyFor("getTasks", Status.TO_DO, null, PageRequest.of(0, 10));
+        TaskPageKey slice = index.keyFor("getTaskSlice", Status.TO_DO, null, PageRequest.of(0, 10));
+
+        assertThat(page).isNotEqualTo(slice);
+    }
+
+    @Test
+    void onTaskChanged_MoveBetweenColumns_EvictsOnlyAffectedFilters() {
+        TaskPageKey todo = index.keyFor(Status.TO_DO, null, PageRequest.of(0, 10));
+        TaskPageKey done = index.keyFor(Status.DONE, null, PageRequest.of(0, 10));
+        TaskPageKey inProgress = index.keyFor(Status.IN_PROGRESS, null, PageRequest.of(0, 10));
+        TaskPageKey all = index.keyFor(null, null, PageRequest.of(0, 10));
+        cache.put(todo, "todo");
+        cache.put(done, "done");
+        cache.put(inProgress, "inProgress");
+        cache.put(all, "all");
+
+        index.onTaskChanged(TaskChangedEvent.updated(
+                snapshot(Status.TO_DO, Priority.LOW),
+                snapshot(Status.DONE, Priority.LOW)));
+
+        assertThat(cache.get(todo)).isNull();
+        assertThat(cache.get(done)).isNull();
+        assertThat(cache.get(all)).isNull();
+        assertThat(cache.get(inProgress)).isNotNull();
+        assertThat(meterRegistry.counter("kanban.cache.tasks.evicted.pages").count()).isEqualTo(3);
+    }
+
+    @Test
+    void onTaskChanged_AfterInvalidation_IssuesNewGeneration() {
+        TaskPageKey before = index.keyFor(Status.TO_DO, Priority.HIGH, PageRequest.of(0, 10));
+
+        index.onTaskChanged(TaskChangedEvent.created(snapshot(Status.TO_DO, Priority.HIGH)));
+
+        TaskPageKey after = index.keyFor(Status.TO_DO, Priority.HIGH, PageRequest.of(0, 10));
+        assertThat(after.generation()).isGreaterThan(before.generation());
+        assertThat(after).isNotEqualTo(before);
+    }
+
+    private TaskSnapshot snapshot(Status status, Priority priority) {
+        return new TaskSnapshot(1L, 0L, "title", "description", status, priority);
+    }
+}
@@ -0,0 +1,110 @@
+package com.company.kanban.unit.cache;
+
+import com.company.kanban.cache.BoardRevision;
+import com.company.kanban.cache.TaskPageKey;
+import com.company.kanban.cache.TaskResponseCache;
+import com.company.kanban.config.TaskResponseCacheProperties;
+import com.company.kanban.model.event.AllTasksChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TaskResponseCacheTests {
+
+    private final TaskPageKey.Filter filter = new TaskPageKey.Filter(null, null);
+    private final PageRequest pageable = PageRequest.of(0, 10);
+
+    private BoardRevision boardRevision;
+    private TaskResponseCache cache;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RequestMappingHandlerAdapter handlerAdapter = new RequestMappingHandlerAdapter();
+        handlerAdapter.setMessageConverters(List.of(new MappingJackson2HttpMessageConverter()));
+        ObjectProvider<RequestMappingHandlerAdapter> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(handlerAdapter);
+
+        boardRevision = new BoardRevision();
+        cache = new TaskResponseCache(new TaskResponseCacheProperties(256, Duration.ofMinutes(15)),
+                boardRevision, provider, new SimpleMeterRegistry());
+        request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void respond_SameRevision_SerializesOnce() {
+        AtomicInteger loads = new AtomicInteger();
+
+        byte[] first = cache.respond(filter, pageable, () -> Map.of("n", loads.incrementAndGet())).getBody();
+        byte[] second = cache.respond(filter, pageable, () -> Map.of("n", loads.incrementAndGet())).getBody();
+
+        assertThat(loads).hasValue(1);
+        assertThat(new String(second)).isEqualTo(new String(first)).isEqualTo("{\"n\":1}");
+    }
+
+    @Test
+    void respond_AfterRevisionBump_LoadsAgain() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.respond(filter, pageable, () -> Map.of("n", loads.incrementAndGet()));
+        boardRevision.onAllTasksChanged(new AllTasksChangedEvent(false));
+        byte[] body = cache.respond(filter, pageable, () -> Map.of("n", loads.incrementAndGet())).getBody();
+
+        assertThat(new String(body)).isEqualTo("{\"n\":2}");
+    }
+
+    @Test
+    void respond_GzipAccepted_ReturnsCompressedBytes() throws IOException {
+        request.addHeader("Accept-Encoding", "gzip, deflate, br");
+
+        var response = cache.respond(filter, pageable, () -> Map.of("n", 1));
+
+        assertThat(response.getHeaders().getFirst("Content-Encoding")).isEqualTo("gzip");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getBody()))) {
+            assertThat(new String(in.readAllBytes())).isEqualTo("{\"n\":1}");
+        }
+    }
+
+    @Test
+    void respond_GzipRefusedOrOnlyByWildcard_HonoursQValues() {
+        assertThat(contentEncoding("gzip;q=0, deflate")).isNull();
+        assertThat(contentEncoding("*, gzip; q=0.0")).isNull();
+        assertThat(contentEncoding("deflate, *;q=0.5")).isEqualTo("gzip");
+        assertThat(contentEncoding("br, GZIP;Q=0.8")).isEqualTo("gzip");
+        assertThat(contentEncoding("identity")).isNull();
+    }
+
+    private String contentEncoding(String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Accept-Encoding", acceptEncoding);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        return cache.respond(filter, pageable, () -> Map.of("n", 1)).getHeaders().getFirst("Content-Encoding");
+    }
+}
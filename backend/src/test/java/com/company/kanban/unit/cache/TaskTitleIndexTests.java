@@ -0,0 +1,84 @@
+package com.company.kanban.unit.cache;
+
+import com.company.kanban.cache.TaskTitleIndex;
+import com.company.kanban.model.dto.TaskSuggestion;
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+import com.company.kanban.model.event.TaskChangedEvent;
+import com.company.kanban.model.event.TaskSnapshot;
+import com.company.kanban.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class TaskTitleIndexTests {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskTitleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        index = new TaskTitleIndex(mock(TaskRepository.class), mock(PlatformTransactionManager.class), meterRegistry);
+    }
+
+    @Test
+    void suggest_MatchesPrefixIgnoringCaseInTitleOrder() {
+        index.onTaskChanged(TaskChangedEvent.created(snapshot(1L, 0L, "Release notes", Status.TO_DO)));
+        index.onTaskChanged(TaskChangedEvent.created(snapshot(2L, 0L, "refactor parser", Status.DONE)));
+        index.onTaskChanged(TaskChangedEvent.created(snapshot(3L, 0L, "Review PR", Status.IN_PROGRESS)));
+        index.onTaskChanged(TaskChangedEvent.created(snapshot(4L, 0L, "Deploy", Status.TO_DO)));
+
+        assertThat(index.suggest("RE", 10)).extracting(TaskSuggestion::title)
+                .containsExactly("refactor parser", "Release notes", "Review PR");
+        assertThat(index.suggest("re", 2)).hasSize(2);
+        assertThat(index.suggest("rev", 10)).extracting(TaskSuggestion::id).containsExactly(3L);
+        assertThat(index.suggest("x", 10)).isEmpty();
+    }
+
+    @Test
+    void onTaskChanged_RenameAndDelete_UpdateTheIndex() {
+        TaskSnapshot original = snapshot(1L, 0L, "Old name", Status.TO_DO);
+        index.onTaskChanged(TaskChangedEvent.created(original));
+        index.onTaskChanged(TaskChangedEvent.updated(original, snapshot(1L, 1L, "New name", Status.DONE)));
+
+        assertThat(index.suggest("old", 10)).isEmpty();
+        assertThat(index.suggest("new", 10)).containsExactly(new TaskSuggestion(1L, "New name", Status.DONE, 1L));
+
+        index.onTaskChanged(TaskChangedEvent.deleted(snapshot(1L, 1L, "New name", Status.DONE)));
+
+        assertThat(index.suggest("new", 10)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void onTaskChanged_OlderVersion_DoesNotReplaceNewerEntry() {
+        index.onTaskChanged(TaskChangedEvent.created(snapshot(1L, 5L, "Current", Status.DONE)));
+        index.onTaskChanged(TaskChangedEvent.created(snapshot(1L, 4L, "Stale", Status.TO_DO)));
+
+        assertThat(index.suggest("", 10)).extracting(TaskSuggestion::title).containsExactly("Current");
+    }
+
+    @Test
+    void bytesPerTitleGauge_ReportsEstimatedFootprint() {
+        assertThat(meterRegistry.get("kanban.tasks.title.index.bytes.per.title").gauge().value()).isZero();
+
+        index.onTaskChanged(TaskChangedEvent.created(snapshot(1L, 0L, "lowercase", Status.TO_DO)));
+        double shared = meterRegistry.get("kanban.tasks.title.index.bytes.per.title").gauge().value();
+        index.onTaskChanged(TaskChangedEvent.deleted(snapshot(1L, 0L, "lowercase", Status.TO_DO)));
+        index.onTaskChanged(TaskChangedEvent.created(snapshot(2L, 0L, "Uppercase", Status.TO_DO)));
+        double separate = meterRegistry.get("kanban.tasks.title.index.bytes.per.title").gauge().value();
+
+        assertThat(shared).isPositive();
+        assertThat(separate).isGreaterThan(shared);
+        assertThat(meterRegistry.get("kanban.tasks.title.index.size").gauge().value()).isEqualTo(1);
+    }
+
+    private static TaskSnapshot snapshot(Long id, Long version, String title, Status status) {
+        return new TaskSnapshot(id, version, title, "Description", status, Priority.MED);
+    }
+}
@@ -0,0 +1,116 @@
+package com.company.kanban.unit.config;
+
+import com.company.kanban.cache.BoardRevision;
+import com.company.kanban.cache.TaskEntityCache;
+import com.company.kanban.config.ConditionalRequestInterceptor;
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+import com.company.kanban.model.event.TaskSnapshot;
+import com.company.kanban.service.interfaces.TaskService;
+import com.company.kanban.model.event.AllTasksChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ConditionalRequestInterceptorTests {
+
+    @Mock
+    private TaskEntityCache taskEntityCache;
+
+    @Mock
+    private TaskService taskService;
+
+    private BoardRevision boardRevision;
+    private ConditionalRequestInterceptor interceptor;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        boardRevision = new BoardRevision();
+        interceptor = new ConditionalRequestInterceptor(boardRevision, taskEntityCache, taskService);
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void preHandle_ListingWithCurrentRevision_Returns304() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader("If-None-Match", boardRevision.eTag());
+
+        assertThat(interceptor.preHandle(request, response, new Object())).isFalse();
+        assertThat(response.getStatus()).isEqualTo(304);
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void preHandle_ListingAfterWrite_ContinuesWithNewETag() {
+        String before = boardRevision.eTag();
+        boardRevision.onAllTasksChanged(new AllTasksChangedEvent(false));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader("If-None-Match", before);
+
+        assertThat(interceptor.preHandle(request, response, new Object())).isTrue();
+        assertThat(response.getHeader("ETag")).isEqualTo(boardRevision.eTag()).isNotEqualTo(before);
+    }
+
+    @Test
+    void preHandle_CachedTaskWithSameVersion_Returns304() {
+        when(taskEntityCache.peek(7L)).thenReturn(Optional.of(snapshot(7L, 3L)));
+        MockHttpServletRequest request = taskRequest("GET", 7L);
+        request.addHeader("If-None-Match", "\"v3\"");
+
+        assertThat(interceptor.preHandle(request, response, new Object())).isFalse();
+        assertThat(response.getStatus()).isEqualTo(304);
+    }
+
+    @Test
+    void preHandle_PatchWithStaleIfMatch_Returns412() {
+        when(taskEntityCache.peek(7L)).thenReturn(Optional.of(snapshot(7L, 4L)));
+        MockHttpServletRequest request = taskRequest("PATCH", 7L);
+        request.addHeader("If-Match", "\"v3\"");
+
+        assertThat(interceptor.preHandle(request, response, new Object())).isFalse();
+        assertThat(response.getStatus()).isEqualTo(412);
+        assertThat(response.getHeader("ETag")).isEqualTo("\"v4\"");
+    }
+
+    @Test
+    void preHandle_PutWithCurrentIfMatch_Continues() {
+        when(taskEntityCache.peek(7L)).thenReturn(Optional.empty());
+        when(taskService.getTaskEntity(7L)).thenReturn(Optional.of(snapshot(7L, 4L).toEntity()));
+        MockHttpServletRequest request = taskRequest("PUT", 7L);
+        request.addHeader("If-Match", "\"v4\"");
+
+        assertThat(interceptor.preHandle(request, response, new Object())).isTrue();
+    }
+
+    @Test
+    void versionOf_ReadsOnlySingleTaskTags() {
+        assertThat(ConditionalRequestInterceptor.versionOf(ConditionalRequestInterceptor.taskETag(12L))).isEqualTo(12L);
+        assertThat(ConditionalRequestInterceptor.versionOf("*")).isNull();
+        assertThat(ConditionalRequestInterceptor.versionOf("\"v1\", \"v2\"")).isNull();
+        assertThat(ConditionalRequestInterceptor.versionOf(boardRevision.eTag())).isNull();
+        assertThat(ConditionalRequestInterceptor.versionOf(null)).isNull();
+    }
+
+    private MockHttpServletRequest taskRequest(String method, Long id) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/tasks/" + id);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", id.toString()));
+        return request;
+    }
+
+    private TaskSnapshot snapshot(Long id, Long version) {
+        return new TaskSnapshot(id, version, "Title", "Description", Status.TO_DO, Priority.LOW);
+    }
+}
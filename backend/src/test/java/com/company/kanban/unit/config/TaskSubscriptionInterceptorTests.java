@@ -0,0 +1,144 @@
+package com.company.kanban.unit.config;
+
+import com.company.kanban.config.TaskSubscriptionInterceptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.DefaultSubscriptionRegistry;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TaskSubscriptionInterceptorTests {
+
+    private TaskSubscriptionInterceptor interceptor;
+    private DefaultSubscriptionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new TaskSubscriptionInterceptor();
+        registry = new DefaultSubscriptionRegistry();
+        registry.setSelectorHeaderName(TaskSubscriptionInterceptor.SELECTOR_HEADER);
+    }
+
+    @Test
+    void preSend_StatusAndPriorityHeaders_MatchOnlyThoseTasksAndBoardMessages() {
+        subscribe("/topic/tasks/filtered", Map.of("status", "TO_DO, DONE", "priority", "HIGH"));
+
+        assertThat(matches(Map.of("status", "DONE", "priority", "HIGH"))).isTrue();
+        assertThat(matches(Map.of("status", "DONE", "priority", "LOW"))).isFalse();
+        assertThat(matches(Map.of("status", "IN_PROGRESS", "priority", "HIGH"))).isFalse();
+        assertThat(matches(Map.of("status", "IN_PROGRESS", "previousStatus", "TO_DO", "priority", "HIGH"))).isTrue();
+        assertThat(matches(Map.of("previousStatus", "TO_DO", "previousPriority", "HIGH"))).isTrue();
+        assertThat(matches(Map.of("scope", "board"))).isTrue();
+    }
+
+    @Test
+    void preSend_NoFilterHeaders_MatchesEverything() {
+        subscribe("/topic/tasks/filtered", Map.of());
+
+        assertThat(matches(Map.of("status", "IN_PROGRESS", "priority", "LOW"))).isTrue();
+    }
+
+    @Test
+    void preSend_ClientSelector_IsDropped() {
+        Message<?> message = interceptor.preSend(subscribeMessage("/topic/other",
+                Map.of("selector", "headers.foo == 'bar'")), null);
+
+        assertThat(StompHeaderAccessor.wrap(message).getFirstNativeHeader("selector")).isNull();
+    }
+
+    @Test
+    void preSend_UnknownStatusOrDestination_Rejected() {
+        assertThatThrownBy(() -> interceptor.preSend(subscribeMessage("/topic/tasks/filtered", Map.of("status", "LATER")), null))
+                .isInstanceOf(MessagingException.class)
+                .hasMessageContaining("LATER");
+        assertThatThrownBy(() -> interceptor.preSend(subscribeMessage("/topic/tasks/status/LATER", Map.of()), null))
+                .isInstanceOf(MessagingException.class);
+        assertThatThrownBy(() -> interceptor.preSend(subscribeMessage("/topic/tasks/abc", Map.of()), null))
+                .isInstanceOf(MessagingException.class);
+    }
+
+    @Test
+    void preSend_StatusAndTaskDestinations_Accepted() {
+        Message<?> column = interceptor.preSend(subscribeMessage("/topic/tasks/status/IN_PROGRESS", Map.of()), null);
+        Message<?> task = interceptor.preSend(subscribeMessage("/topic/tasks/42", Map.of()), null);
+
+        assertThat(StompHeaderAccessor.wrap(column).getDestination()).isEqualTo("/topic/tasks/status/IN_PROGRESS");
+        assertThat(StompHeaderAccessor.wrap(task).getFirstNativeHeader("selector")).isNull();
+    }
+
+    @Test
+    void preSend_FiltersOutsideFilteredTopic_Rejected() {
+        assertThatThrownBy(() -> interceptor.preSend(subscribeMessage("/topic/tasks", Map.of("status", "DONE")), null))
+                .isInstanceOf(MessagingException.class)
+                .hasMessageContaining("/topic/tasks/filtered");
+        assertThatThrownBy(() -> interceptor.preSend(subscribeMessage("/topic/tasks/status/DONE", Map.of("priority", "MED")), null))
+                .isInstanceOf(MessagingException.class);
+    }
+
+    @Test
+    void onSubscribe_CountsUntilLastSubscriptionGoes() {
+        interceptor.onSubscribe(new SessionSubscribeEvent(this, subscribeMessage("session-1", "sub-1", "/topic/tasks", Map.of())));
+        interceptor.onSubscribe(new SessionSubscribeEvent(this, subscribeMessage("session-2", "sub-1", "/topic/tasks", Map.of())));
+        interceptor.onSubscribe(new SessionSubscribeEvent(this, subscribeMessage("session-2", "sub-2", "/topic/other", Map.of())));
+        assertThat(interceptor.hasSubscribers("/topic/tasks")).isTrue();
+        assertThat(interceptor.hasSubscribers("/topic/other")).isFalse();
+
+        interceptor.onUnsubscribe(new SessionUnsubscribeEvent(this, unsubscribeMessage("session-1", "sub-1")));
+        assertThat(interceptor.hasSubscribers("/topic/tasks")).isTrue();
+
+        Message<byte[]> disconnect = MessageBuilder.createMessage(new byte[0], new MessageHeaders(Map.of()));
+        interceptor.onDisconnect(new SessionDisconnectEvent(this, disconnect, "session-2", CloseStatus.NORMAL));
+        interceptor.onDisconnect(new SessionDisconnectEvent(this, disconnect, "session-2", CloseStatus.NORMAL));
+        assertThat(interceptor.hasSubscribers("/topic/tasks")).isFalse();
+    }
+
+    private void subscribe(String destination, Map<String, String> headers) {
+        registry.registerSubscription(interceptor.preSend(subscribeMessage(destination, headers), null));
+    }
+
+    //headers as SimpMessagingTemplate sets them for the map passed to convertAndSend
+    private boolean matches(Map<String, String> headers) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination("/topic/tasks/filtered");
+        headers.forEach(accessor::setNativeHeader);
+        accessor.setLeaveMutable(true);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        return !registry.findSubscriptions(message).isEmpty();
+    }
+
+    private static Message<byte[]> subscribeMessage(String destination, Map<String, String> headers) {
+        return subscribeMessage("session-1", "sub-1", destination, headers);
+    }
+
+    private static Message<byte[]> subscribeMessage(String sessionId, String subscriptionId, String destination,
+                                                    Map<String, String> headers) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination(destination);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        headers.forEach(accessor::setNativeHeader);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> unsubscribeMessage(String sessionId, String subscriptionId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.UNSUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
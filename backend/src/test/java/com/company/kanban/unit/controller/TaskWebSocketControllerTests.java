@@ -0,0 +1,229 @@
+package com.company.kanban.unit.controller;
+
+import com.company.kanban.config.BroadcastProperties;
+import com.company.kanban.config.TaskSubscriptionInterceptor;
+import com.company.kanban.controller.TaskWebSocketController;
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+import com.company.kanban.model.event.TaskEvent;
+import com.company.kanban.model.event.TaskSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TaskWebSocketControllerTests {
+
+    private SimpMessagingTemplate messagingTemplate;
+    private TaskSubscriptionInterceptor subscriptions;
+    private SimpleMeterRegistry meterRegistry;
+    private TaskWebSocketController controller;
+
+    @BeforeEach
+    void setUp() {
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        subscriptions = mock(TaskSubscriptionInterceptor.class);
+        when(subscriptions.hasSubscribers(anyString())).thenReturn(true);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        controller.stop();
+    }
+
+    @Test
+    void broadcast_SameTaskTwice_SendsNewestStateOnce() {
+        start(Duration.ofMillis(100), 50);
+
+        controller.broadcast(TaskEvent.updated(snapshot(1L, 1L, Status.IN_PROGRESS)));
+        controller.broadcast(TaskEvent.updated(snapshot(2L, 1L, Status.TO_DO)));
+        controller.broadcast(TaskEvent.updated(snapshot(1L, 2L, Status.DONE)));
+
+        List<TaskEvent> frame = nextFrame();
+        assertThat(frame).extracting(TaskEvent::taskId).containsExactly(2L, 1L);
+        assertThat(frame.get(1).task().status()).isEqualTo(Status.DONE);
+        assertThat(meterRegistry.get("kanban.websocket.frames").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("kanban.websocket.events").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("kanban.websocket.events.superseded").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void broadcast_CreateFollowedByUpdateOrDelete_FoldsIntoCreateOrNothing() {
+        start(Duration.ofMillis(100), 50);
+
+        controller.broadcast(TaskEvent.created(snapshot(1L, 0L, Status.TO_DO)));
+        controller.broadcast(TaskEvent.updated(snapshot(1L, 1L, Status.DONE)));
+        controller.broadcast(TaskEvent.created(snapshot(2L, 0L, Status.TO_DO)));
+        controller.broadcast(TaskEvent.deleted(2L));
+        controller.broadcast(TaskEvent.imported(5));
+
+        List<TaskEvent> frame = nextFrame();
+        assertThat(frame).extracting(TaskEvent::type).containsExactly(TaskEvent.Type.CREATE, TaskEvent.Type.IMPORT);
+        assertThat(frame.get(0).task().version()).isEqualTo(1L);
+    }
+
+    @Test
+    void broadcast_FullFrame_SendsBeforeInterval() {
+        start(Duration.ofSeconds(30), 3);
+
+        controller.broadcast(TaskEvent.deleted(1L));
+        controller.broadcast(TaskEvent.deleted(2L));
+        verify(messagingTemplate, after(100).never()).convertAndSend(anyString(), any(Object.class), ArgumentMatchers.<Map<String, Object>>any());
+
+        controller.broadcast(TaskEvent.deleted(3L));
+        assertThat(nextFrame()).hasSize(3);
+    }
+
+    @Test
+    void broadcast_TaskMovedBetweenColumns_GoesToBothColumnsAndItsOwnTopic() {
+        start(Duration.ofMillis(50), 50);
+
+        TaskSnapshot before = snapshot(1L, 1L, Status.TO_DO);
+        controller.broadcast(TaskEvent.updated(before, snapshot(1L, 2L, Status.DONE)));
+
+        Map<String, List<Sent>> sent = flushed();
+        Sent message = sent.get("/topic/tasks/filtered").get(0);
+        assertThat(message.headers()).containsEntry("status", "DONE")
+                .containsEntry("previousStatus", "TO_DO")
+                .containsEntry("priority", "MED")
+                .doesNotContainKey("previousPriority");
+        assertThat(sent).containsKeys("/topic/tasks/status/DONE", "/topic/tasks/status/TO_DO", "/topic/tasks/1")
+                .doesNotContainKey("/topic/tasks/status/IN_PROGRESS");
+        assertThat(sent.get("/topic/tasks/1").get(0).events()).extracting(TaskEvent::previousStatus)
+                .containsExactly(Status.TO_DO);
+    }
+
+    @Test
+    void broadcast_TwoUpdatesOfOneTask_KeepsTheColumnItStartedIn() {
+        start(Duration.ofMillis(100), 50);
+
+        controller.broadcast(TaskEvent.updated(snapshot(1L, 1L, Status.TO_DO), snapshot(1L, 2L, Status.IN_PROGRESS)));
+        controller.broadcast(TaskEvent.updated(snapshot(1L, 2L, Status.IN_PROGRESS), snapshot(1L, 3L, Status.DONE)));
+
+        Map<String, List<Sent>> sent = flushed();
+        assertThat(sent.get("/topic/tasks/filtered").get(0).events()).extracting(TaskEvent::previousStatus)
+                .containsExactly(Status.TO_DO);
+        assertThat(sent).containsKeys("/topic/tasks/status/TO_DO", "/topic/tasks/status/DONE")
+                .doesNotContainKey("/topic/tasks/status/IN_PROGRESS");
+    }
+
+    @Test
+    void broadcast_BoardWideEvent_KeepsItsPlaceAndReachesEveryColumn() {
+        start(Duration.ofMillis(100), 50);
+
+        controller.broadcast(TaskEvent.updated(snapshot(1L, 1L, Status.TO_DO)));
+        controller.broadcast(TaskEvent.bulkUpdated(List.of(snapshot(2L, 1L, Status.DONE), snapshot(3L, 1L, Status.DONE))));
+        controller.broadcast(TaskEvent.updated(snapshot(4L, 1L, Status.TO_DO)));
+
+        Map<String, List<Sent>> sent = flushed();
+        assertThat(sent.get("/topic/tasks/filtered")).extracting(message -> message.events().get(0).type())
+                .containsExactly(TaskEvent.Type.UPDATE, TaskEvent.Type.BULK_UPDATE, TaskEvent.Type.UPDATE);
+        assertThat(sent.get("/topic/tasks/filtered").get(1).headers()).containsEntry("scope", "board");
+        for (Status status : Status.values()) {
+            assertThat(sent.get("/topic/tasks/status/" + status)).hasSize(1);
+            assertThat(sent.get("/topic/tasks/status/" + status).get(0).events())
+                    .extracting(TaskEvent::type).contains(TaskEvent.Type.BULK_UPDATE);
+        }
+        assertThat(sent.get("/topic/tasks/status/TO_DO").get(0).events()).extracting(TaskEvent::type)
+                .containsExactly(TaskEvent.Type.UPDATE, TaskEvent.Type.BULK_UPDATE, TaskEvent.Type.UPDATE);
+        assertThat(sent.get("/topic/tasks/3").get(0).events()).extracting(TaskEvent::type, TaskEvent::eventId)
+                .containsExactly(tuple(TaskEvent.Type.UPDATE, null));
+    }
+
+    @Test
+    void broadcast_DeleteWithKnownState_RoutedByPreviousColumn() {
+        start(Duration.ofMillis(50), 50);
+
+        controller.broadcast(TaskEvent.deleted(snapshot(1L, 1L, Status.IN_PROGRESS)));
+
+        Map<String, List<Sent>> sent = flushed();
+        assertThat(sent.get("/topic/tasks/filtered").get(0).headers()).containsEntry("previousStatus", "IN_PROGRESS")
+                .doesNotContainKey("status");
+        assertThat(sent).containsKeys("/topic/tasks/status/IN_PROGRESS", "/topic/tasks/1")
+                .doesNotContainKeys("/topic/tasks/status/TO_DO", "/topic/tasks/status/DONE");
+        assertThat(meterRegistry.get("kanban.websocket.messages").counter().count()).isEqualTo(4);
+    }
+
+    @Test
+    void broadcast_ManyTasksAndOnlyUnfilteredSubscribers_SendsOneMessage() {
+        when(subscriptions.hasSubscribers(anyString())).thenReturn(false);
+        when(subscriptions.hasSubscribers("/topic/tasks")).thenReturn(true);
+        start(Duration.ofMillis(100), 50);
+
+        controller.broadcast(TaskEvent.updated(snapshot(1L, 1L, Status.TO_DO), snapshot(1L, 2L, Status.DONE)));
+        controller.broadcast(TaskEvent.bulkUpdated(List.of(snapshot(2L, 1L, Status.DONE))));
+        controller.broadcast(TaskEvent.deleted(snapshot(3L, 1L, Status.IN_PROGRESS)));
+
+        Map<String, List<Sent>> sent = flushed();
+        assertThat(sent).containsOnlyKeys("/topic/tasks");
+        assertThat(sent.get("/topic/tasks")).singleElement().satisfies(message -> {
+            assertThat(message.events()).hasSize(3);
+            assertThat(message.headers()).isNull();
+        });
+        assertThat(meterRegistry.get("kanban.websocket.messages").counter().count()).isEqualTo(1);
+    }
+
+    private void start(Duration flushInterval, int maxFrameEvents) {
+        controller = new TaskWebSocketController(messagingTemplate, subscriptions,
+                new BroadcastProperties(flushInterval, maxFrameEvents), meterRegistry);
+        controller.start();
+    }
+
+    //the /topic/tasks message of the first flush, it carries the whole frame
+    private List<TaskEvent> nextFrame() {
+        List<Sent> messages = flushed().get("/topic/tasks");
+        assertThat(messages).hasSize(1);
+        return messages.get(0).events();
+    }
+
+    //every message of the first flush by destination, the frame counter moves once all of them are sent
+    @SuppressWarnings("unchecked")
+    private Map<String, List<Sent>> flushed() {
+        long deadline = System.nanoTime() + Duration.ofSeconds(1).toNanos();
+        while (meterRegistry.get("kanban.websocket.frames").counter().count() < 1) {
+            assertThat(System.nanoTime()).as("no frame flushed").isLessThan(deadline);
+            LockSupport.parkNanos(Duration.ofMillis(5).toNanos());
+        }
+
+        ArgumentCaptor<String> destinations = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object> payloads = ArgumentCaptor.forClass(Object.class);
+        ArgumentCaptor<Map<String, Object>> headers = ArgumentCaptor.forClass(Map.class);
+        verify(messagingTemplate, atLeastOnce()).convertAndSend(destinations.capture(), payloads.capture(), headers.capture());
+
+        Map<String, List<Sent>> sent = new LinkedHashMap<>();
+        for (int i = 0; i < destinations.getAllValues().size(); i++) {
+            sent.computeIfAbsent(destinations.getAllValues().get(i), key -> new ArrayList<>())
+                    .add(new Sent((List<TaskEvent>) payloads.getAllValues().get(i), headers.getAllValues().get(i)));
+        }
+        return sent;
+    }
+
+    private record Sent(List<TaskEvent> events, Map<String, Object> headers) {
+    }
+
+    private static TaskSnapshot snapshot(Long id, Long version, Status status) {
+        return new TaskSnapshot(id, version, "Task " + id, "Description", status, Priority.MED);
+    }
+}
@@ -2,68 +2,83 @@ package com.company.kanban.unit.mapper;
 
 
 import com.company.kanban.mapper.JsonMergePatch;
-import com.company.kanban.model.dto.TaskDTO;
-import com.company.kanban.model.entity.Task;
+import com.company.kanban.mapper.TaskPatch;
 import com.company.kanban.model.enums.Priority;
 import com.company.kanban.model.enums.Status;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.Validation;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
-@ExtendWith(MockitoExtension.class)
 public class JsonMergePatchTests {
 
-    private ObjectMapper objectMapper;
     private JsonMergePatch jsonMergePatch;
 
     @BeforeEach
     public void setup() {
-        objectMapper = mock(ObjectMapper.class);
-        ObjectReader objectReader = mock(ObjectReader.class);
-        when(objectMapper.readerForUpdating(any(Task.class))).thenReturn(objectReader);
-        jsonMergePatch = new JsonMergePatch(objectMapper);
+        jsonMergePatch = new JsonMergePatch(new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Test
+    @SneakyThrows
+    public void jsonMergePatch_Compile_ReturnsTypedValuesAndVersion() {
+        TaskPatch patch = jsonMergePatch.compile("{\"title\": \"Updated Title\", \"status\": \"DONE\", \"version\": 3}");
+
+        assertEquals(Map.of("title", "Updated Title", "status", Status.DONE), patch.columns());
+        assertEquals(3L, patch.version());
+        assertFalse(patch.isEmpty());
     }
 
     @Test
     @SneakyThrows
-    public void jsonMergePatch_MergePatchTask_ReturnsTask() {
-        Task existingTask = Task.builder()
-                .title("Old Title")
-                .description("Old Description")
-                .status(Status.TO_DO)
-                .priority(Priority.LOW)
-                .build();
-
-        String patchJson = "{\"title\": \"Updated Title\", \"description\": \"Updated Description\"}";
-
-        Task updatedTask = Task.builder()
-                .title("Updated Title")
-                .description("Updated Description")
-                .status(Status.TO_DO)
-                .priority(Priority.LOW)
-                .build();
-
-        ObjectReader objectReader = objectMapper.readerForUpdating(existingTask);
-        when(objectReader.readValue(patchJson, Task.class)).thenReturn(updatedTask);
-
-        Task result = jsonMergePatch.mergePatchTask(existingTask, patchJson);
-
-        assertNotNull(result);
-        assertEquals("Updated Title", result.getTitle());
-        assertEquals("Updated Description", result.getDescription());
-
-        verify(objectMapper, times(2)).readerForUpdating(existingTask);
-        verify(objectReader).readValue(patchJson, Task.class);
+    public void jsonMergePatch_Compile_ReturnsPatchedColumnsInOrder() {
+        TaskPatch patch = jsonMergePatch.compile("{\"priority\": \"HIGH\", \"title\": \"New\", \"version\": null}");
+
+        assertEquals(Map.of("title", "New", "priority", Priority.HIGH), patch.columns());
+        assertNull(patch.version());
+        assertTrue(jsonMergePatch.compile("{}").isEmpty());
+    }
+
+    @Test
+    public void jsonMergePatch_Compile_RejectsImmutableAndUnknownFields() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> jsonMergePatch.compile("{\"id\": 99, \"owner\": \"x\", \"title\": \"Changed\"}"));
+
+        assertTrue(e.getMessage().contains("id: cannot be changed"));
+        assertTrue(e.getMessage().contains("owner: unknown field"));
+    }
+
+    @Test
+    public void jsonMergePatch_Compile_RejectsValuesBreakingDtoConstraints() {
+        assertThrows(IllegalArgumentException.class, () -> jsonMergePatch.compile("{\"title\": \"ab\"}"));
+        assertThrows(IllegalArgumentException.class, () -> jsonMergePatch.compile("{\"description\": \" \"}"));
+        assertThrows(IllegalArgumentException.class, () -> jsonMergePatch.compile("{\"title\": null}"));
+        assertThrows(IllegalArgumentException.class, () -> jsonMergePatch.compile("{\"title\": 5}"));
+        assertThrows(IllegalArgumentException.class, () -> jsonMergePatch.compile("{\"status\": \"SOMEDAY\"}"));
+        assertThrows(IllegalArgumentException.class, () -> jsonMergePatch.compile("{\"version\": \"v1\"}"));
+        assertThrows(IllegalArgumentException.class, () -> jsonMergePatch.compile("[]"));
+    }
+
+    @Test
+    public void jsonMergePatch_CompileMembers_AcceptsEnumConstants() {
+        Map<String, Object> members = new LinkedHashMap<>();
+        members.put("status", Status.IN_PROGRESS);
+        members.put("priority", "MED");
+
+        TaskPatch patch = jsonMergePatch.compile(members);
+
+        assertEquals(Map.of("status", Status.IN_PROGRESS, "priority", Priority.MED), patch.columns());
+        assertThrows(IllegalArgumentException.class, () -> jsonMergePatch.compile(Map.of("title", "x")));
     }
 }
@@ -0,0 +1,65 @@
+package com.company.kanban.unit.mapper;
+
+import com.company.kanban.mapper.TaskCursorCodec;
+import com.company.kanban.model.enums.Status;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TaskCursorCodecTests {
+
+    private TaskCursorCodec codec;
+    private Sort sort;
+
+    @BeforeEach
+    public void setup() {
+        codec = new TaskCursorCodec(new ObjectMapper());
+        sort = Sort.by(Sort.Direction.ASC, "status").and(Sort.by(Sort.Direction.ASC, "id"));
+    }
+
+    @Test
+    public void taskCursorCodec_EncodeThenDecode_ReturnsTypedKeys() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("status", Status.IN_PROGRESS);
+        keys.put("id", 42L);
+
+        String token = codec.encode(sort, keys);
+        Map<String, Object> decoded = codec.decode(token, sort);
+
+        assertFalse(token.contains("="));
+        assertEquals(Status.IN_PROGRESS, decoded.get("status"));
+        assertEquals(42L, decoded.get("id"));
+    }
+
+    @Test
+    public void taskCursorCodec_DecodeWithDifferentSort_ThrowsIllegalArgumentException() {
+        String token = codec.encode(sort, Map.of("status", Status.DONE, "id", 1L));
+
+        Sort other = Sort.by(Sort.Direction.DESC, "status").and(Sort.by(Sort.Direction.DESC, "id"));
+
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(token, other));
+    }
+
+    @Test
+    public void taskCursorCodec_DecodeMalformedToken_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> codec.decode("not a cursor!", sort));
+        assertThrows(IllegalArgumentException.class, () -> codec.decode("e30", sort));
+    }
+
+    @Test
+    public void taskCursorCodec_IsSortable_OnlyAcceptsTaskProperties() {
+        assertTrue(TaskCursorCodec.isSortable("title"));
+        assertFalse(TaskCursorCodec.isSortable("password"));
+        assertFalse(TaskCursorCodec.isSortable(TaskCursorCodec.RANK));
+        assertFalse(TaskCursorCodec.isSortable("description"));
+    }
+}
@@ -1,6 +1,7 @@
 package com.company.kanban.unit.mapper;
 
 
+import com.company.kanban.controller.TaskController;
 import com.company.kanban.mapper.TaskDtoAssembler;
 import com.company.kanban.model.dto.TaskDTO;
 import com.company.kanban.model.entity.Task;
@@ -10,8 +11,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @ExtendWith(MockitoExtension.class)
 public class TaskDtoAssemblerTests {
@@ -46,4 +52,44 @@ public class TaskDtoAssemblerTests {
         assertThat(dto.getLink("self")).isPresent();
         assertThat(dto.getLink("self").get().getHref()).contains("/tasks/" + task.getId());
     }
+
+    @Test
+    void addLinks_ProjectedDto_AddsSelfLink() {
+        TaskDTO projected = new TaskDTO(7L, "Projected", "Description", Status.DONE, Priority.LOW, 0L);
+
+        TaskDTO dto = assembler.addLinks(projected);
+
+        assertThat(dto).isSameAs(projected);
+        assertThat(dto.getLink("self")).isPresent();
+        assertThat(dto.getLink("self").get().getHref()).contains("/tasks/7");
+    }
+
+    @Test
+    void addLinks_InsideRequest_MatchesMethodOnLink() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setServerName("kanban.example");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            TaskDTO first = assembler.addLinks(new TaskDTO(1L, "One", "Description", Status.TO_DO, Priority.LOW, 0L));
+            TaskDTO second = assembler.addLinks(new TaskDTO(2L, "Two", "Description", Status.TO_DO, Priority.LOW, 0L));
+
+            assertThat(first.getRequiredLink("self").getHref())
+                    .isEqualTo(linkTo(methodOn(TaskController.class).getTaskById(1L)).withSelfRel().getHref());
+            assertThat(second.getRequiredLink("self").getHref())
+                    .isEqualTo(linkTo(methodOn(TaskController.class).getTaskById(2L)).withSelfRel().getHref());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void toModel_WithoutLinks_ReturnsDtoWithoutLinks() {
+        Task task = Task.builder().id(5L).title("Task").description("Description")
+                .status(Status.DONE).priority(Priority.HIGH).build();
+
+        TaskDTO dto = assembler.toModel(task, false);
+
+        assertThat(dto.getTitle()).isEqualTo("Task");
+        assertThat(dto.getLinks()).isEmpty();
+    }
 }
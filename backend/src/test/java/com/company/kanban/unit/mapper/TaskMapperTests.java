@@ -0,0 +1,44 @@
+package com.company.kanban.unit.mapper;
+
+import com.company.kanban.mapper.TaskMapper;
+import com.company.kanban.model.dto.TaskDTO;
+import com.company.kanban.model.entity.Task;
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TaskMapperTests {
+
+    private final TaskMapper taskMapper = TaskMapper.INSTANCE;
+
+    private final Task task = Task.builder()
+            .id(3L)
+            .version(2L)
+            .title("title1")
+            .description("desc1")
+            .status(Status.IN_PROGRESS)
+            .priority(Priority.HIGH)
+            .build();
+
+    @Test
+    void toDto_CopiesAllFields() {
+        TaskDTO taskDTO = taskMapper.toDto(task);
+
+        assertThat(taskDTO.getId()).isEqualTo(3L);
+        assertThat(taskDTO.getVersion()).isEqualTo(2L);
+        assertThat(taskDTO.getTitle()).isEqualTo("title1");
+        assertThat(taskDTO.getDescription()).isEqualTo("desc1");
+        assertThat(taskDTO.getStatus()).isEqualTo(Status.IN_PROGRESS);
+        assertThat(taskDTO.getPriority()).isEqualTo(Priority.HIGH);
+        assertThat(taskDTO.getLinks()).isEmpty();
+    }
+
+    @Test
+    void toEntity_CopiesAllFieldsIncludingId() {
+        Task copy = taskMapper.toEntity(taskMapper.toDto(task));
+
+        assertThat(copy).isEqualTo(task);
+    }
+}
@@ -0,0 +1,128 @@
+package com.company.kanban.unit.outbox;
+
+import com.company.kanban.config.OutboxProperties;
+import com.company.kanban.controller.TaskWebSocketController;
+import com.company.kanban.model.entity.TaskOutboxEntry;
+import com.company.kanban.model.event.TaskEvent;
+import com.company.kanban.outbox.TaskOutboxPublisher;
+import com.company.kanban.repository.TaskOutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TaskOutboxPublisherTests {
+
+    private final List<TaskOutboxEntry> table = new CopyOnWriteArrayList<>();
+    private TaskOutboxRepository outboxRepository;
+    private TaskWebSocketController webSocketController;
+    private SimpleMeterRegistry meterRegistry;
+    private TaskOutboxPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(TaskOutboxRepository.class);
+        webSocketController = mock(TaskWebSocketController.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(outboxRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            long offset = invocation.getArgument(0);
+            return table.stream().filter(row -> row.getId() > offset).toList();
+        });
+        when(outboxRepository.findByIdInOrderByIdAsc(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return table.stream().filter(row -> ids.contains(row.getId())).toList();
+        });
+        publisher = new TaskOutboxPublisher(outboxRepository, webSocketController, new ObjectMapper(),
+                new OutboxProperties(Duration.ofMillis(20), 500, Duration.ofMillis(300), Duration.ofMinutes(1),
+                        Duration.ofHours(1), 100),
+                meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.stop();
+    }
+
+    @Test
+    void publisher_SendsRowsInOrderAndDropsDuplicates() {
+        when(outboxRepository.findMaxId()).thenReturn(10L);
+        table.add(row(11, 7L, 1L));
+        table.add(row(12, 7L, 1L));
+        table.add(row(13, 7L, 2L));
+
+        publisher.start();
+
+        verify(webSocketController, timeout(1000).times(2)).broadcast(any());
+        verify(webSocketController, after(100).times(2)).broadcast(any());
+        ArgumentCaptor<TaskEvent> sent = ArgumentCaptor.forClass(TaskEvent.class);
+        verify(webSocketController, times(2)).broadcast(sent.capture());
+        assertThat(sent.getAllValues()).extracting(TaskEvent::eventId).containsExactly(11L, 13L);
+        assertThat(sent.getAllValues().get(0).type()).isEqualTo(TaskEvent.Type.UPDATE);
+        assertThat(sent.getAllValues().get(0).timestamp()).isNotNull();
+        assertThat(sent.getAllValues().get(1).taskVersion()).isEqualTo(2L);
+        assertThat(meterRegistry.get("kanban.outbox.duplicates").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void publisher_WaitsOnGapThenSendsLateRow() {
+        when(outboxRepository.findMaxId()).thenReturn(10L);
+        table.add(row(12, 8L, 0L));
+
+        publisher.start();
+
+        verify(webSocketController, after(150).never()).broadcast(any());
+        verify(webSocketController, timeout(1000)).broadcast(argThat(event -> event.eventId().equals(12L)));
+
+        table.add(row(11, 9L, 0L));
+        verify(webSocketController, timeout(1000)).broadcast(argThat(event -> event.eventId().equals(11L)));
+        assertThat(meterRegistry.get("kanban.outbox.late").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void publisher_DeletedTask_DropsLaterUpdates() {
+        when(outboxRepository.findMaxId()).thenReturn(null);
+        table.add(row(1, 3L, 4L));
+        table.add(TaskOutboxEntry.builder().id(2L).type("DELETE").taskId(3L)
+                .payload("{\"type\":\"DELETE\",\"taskId\":3}").createdAt(Instant.now()).build());
+        table.add(row(3, 3L, 5L));
+
+        publisher.start();
+
+        verify(webSocketController, timeout(1000).times(2)).broadcast(any());
+        verify(webSocketController, after(100).times(2)).broadcast(any());
+        verify(webSocketController, never()).broadcast(argThat(event -> event.eventId().equals(3L)));
+    }
+
+    private static TaskOutboxEntry row(long id, Long taskId, Long version) {
+        return TaskOutboxEntry.builder()
+                .id(id)
+                .type("UPDATE")
+                .taskId(taskId)
+                .taskVersion(version)
+                .payload("{\"type\":\"UPDATE\",\"taskId\":" + taskId + ",\"task\":{\"id\":" + taskId + ",\"version\":" + version + "}}")
+                .createdAt(Instant.now())
+                .build();
+    }
+}
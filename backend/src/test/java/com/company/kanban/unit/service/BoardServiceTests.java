@@ -0,0 +1,118 @@
+package com.company.kanban.unit.service;
+
+import com.company.kanban.cache.TaskCounters;
+import com.company.kanban.mapper.TaskDtoAssembler;
+import com.company.kanban.model.dto.BoardSnapshot;
+import com.company.kanban.model.dto.TaskDTO;
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+import com.company.kanban.repository.TaskRepository;
+import com.company.kanban.service.implementations.BoardServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BoardServiceTests {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskDtoAssembler taskDtoAssembler;
+
+    @Mock
+    private TaskCounters taskCounters;
+
+    private BoardServiceImpl boardService;
+
+    @BeforeEach
+    void setUp() {
+        boardService = new BoardServiceImpl(taskRepository, taskDtoAssembler,
+                new ConcurrentMapCacheManager(BoardServiceImpl.CACHE_NAME), taskCounters);
+        lenient().when(taskDtoAssembler.addLinks(any(TaskDTO.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void boardService_GetBoard_ReturnsEveryColumnWithCountFromCounters() {
+        for (Status status : Status.values()) {
+            TaskDTO task = new TaskDTO((long) status.ordinal(), status.name(), "Description", status, Priority.LOW, 0L);
+            when(taskRepository.findDtoSliceByStatus(eq(status), any(Pageable.class)))
+                    .thenReturn(new SliceImpl<>(List.of(task), Pageable.ofSize(5), true));
+            when(taskCounters.count(status)).thenReturn(7L + status.ordinal());
+        }
+
+        BoardSnapshot board = boardService.getBoard(5);
+
+        assertThat(board.columns()).extracting("status").containsExactly((Object[]) Status.values());
+        assertThat(board.columns()).extracting("count").containsExactly(7L, 8L, 9L);
+        assertThat(board.columns().get(1).tasks()).extracting(TaskDTO::getStatus).containsOnly(Status.IN_PROGRESS);
+    }
+
+    @Test
+    void boardService_GetBoardTwice_LoadsOnceUntilTasksChange() {
+        when(taskRepository.findDtoSliceByStatus(any(Status.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        boardService.getBoard(10);
+        boardService.getBoard(10);
+        verify(taskRepository, times(Status.values().length)).findDtoSliceByStatus(any(Status.class), any(Pageable.class));
+
+        boardService.onTasksChanged();
+        boardService.getBoard(10);
+        verify(taskRepository, times(2 * Status.values().length)).findDtoSliceByStatus(any(Status.class), any(Pageable.class));
+    }
+
+    @Test
+    void boardService_ColumnFails_ThrowsColumnException() {
+        when(taskRepository.findDtoSliceByStatus(any(Status.class), any(Pageable.class)))
+                .thenThrow(new IllegalStateException("database down"));
+
+        assertThatThrownBy(() -> boardService.getBoard(10))
+                .hasRootCauseMessage("database down");
+    }
+
+    @Test
+    void boardService_LastColumnFails_CancelsColumnsStillLoading() {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(taskRepository.findDtoSliceByStatus(eq(Status.TO_DO), any(Pageable.class))).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(Long.MAX_VALUE);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return new SliceImpl<>(List.of());
+        });
+        lenient().when(taskRepository.findDtoSliceByStatus(eq(Status.IN_PROGRESS), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of()));
+        when(taskRepository.findDtoSliceByStatus(eq(Status.DONE), any(Pageable.class)))
+                .thenThrow(new IllegalStateException("database down"));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThatThrownBy(() -> boardService.getBoard(10))
+                .hasRootCauseMessage("database down"));
+        assertThat(interrupted.getCount()).isZero();
+    }
+
+    @Test
+    void boardService_SizeOutOfRange_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> boardService.getBoard(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> boardService.getBoard(101)).isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(taskRepository);
+    }
+}
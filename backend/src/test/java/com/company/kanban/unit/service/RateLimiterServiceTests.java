@@ -1,9 +1,15 @@
 package com.company.kanban.unit.service;
 
+import com.company.kanban.cache.TaskCounters;
+import com.company.kanban.cache.TaskResponseCache;
+import com.company.kanban.cache.TaskTitleIndex;
 import com.company.kanban.controller.TaskController;
 import com.company.kanban.service.implementations.RateLimiterServiceImpl;
 import com.company.kanban.service.interfaces.RateLimiterService;
+import com.company.kanban.service.interfaces.TaskExportService;
+import com.company.kanban.service.interfaces.TaskImportService;
 import com.company.kanban.service.interfaces.TaskService;
+import com.company.kanban.service.interfaces.TaskWriteCoalescer;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -31,6 +37,24 @@ public class RateLimiterServiceTests {
     @Mock
     RateLimiterServiceImpl rateLimiterService;
 
+    @Mock
+    TaskResponseCache taskResponseCache;
+
+    @Mock
+    TaskExportService taskExportService;
+
+    @Mock
+    TaskImportService taskImportService;
+
+    @Mock
+    TaskTitleIndex taskTitleIndex;
+
+    @Mock
+    TaskCounters taskCounters;
+
+    @Mock
+    TaskWriteCoalescer taskWriteCoalescer;
+
     @InjectMocks
     TaskController taskController;
 
@@ -40,6 +64,8 @@ public class RateLimiterServiceTests {
         int requestsOverflow = 105;
 
         AtomicInteger counter = new AtomicInteger(0);
+        Mockito.when(taskResponseCache.respond(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(ResponseEntity.ok(new byte[0]));
         Mockito.when(rateLimiterService.performIfAllowed(Mockito.any()))
                 .thenAnswer(invocation -> {
                     if (counter.incrementAndGet() <= allowedRequests) {
@@ -1,25 +1,43 @@
 package com.company.kanban.unit.service;
 
-import com.company.kanban.controller.TaskWebSocketController;
+import com.company.kanban.cache.TaskEntityCache;
 import com.company.kanban.mapper.JsonMergePatch;
+import com.company.kanban.mapper.TaskCursorCodec;
 import com.company.kanban.mapper.TaskDtoAssembler;
+import com.company.kanban.model.dto.BulkTaskUpdateRequest;
+import com.company.kanban.model.dto.BulkTaskUpdateResult;
+import com.company.kanban.model.dto.TaskCursorPage;
 import com.company.kanban.model.dto.TaskDTO;
 import com.company.kanban.model.entity.Task;
 import com.company.kanban.model.enums.Priority;
 import com.company.kanban.model.enums.Status;
+import com.company.kanban.model.event.TaskChangedEvent;
+import com.company.kanban.model.event.TaskEvent;
+import com.company.kanban.model.event.TaskSnapshot;
+import com.company.kanban.repository.TaskJdbcRepository;
 import com.company.kanban.repository.TaskRepository;
 import com.company.kanban.service.implementations.TaskServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.validation.Validation;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
-import java.io.IOException;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,14 +49,21 @@ public class TaskServiceTests {
     @Mock
     private TaskRepository taskRepository;
 
-    @Mock
-    private JsonMergePatch jsonMergePatch;
+    @Spy
+    private JsonMergePatch jsonMergePatch = new JsonMergePatch(new ObjectMapper(),
+            Validation.buildDefaultValidatorFactory().getValidator());
 
     @Mock
     private TaskDtoAssembler taskDtoAssembler;
 
     @Mock
-    private TaskWebSocketController webSocketController;
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TaskEntityCache taskEntityCache;
+
+    @Mock
+    private TaskCursorCodec taskCursorCodec;
 
     @InjectMocks
     private TaskServiceImpl taskService;
@@ -114,39 +139,31 @@ public class TaskServiceTests {
     @Test
     public void taskService_DeleteTask_ReturnsVoid() {
         Long taskId = 1L;
+        Task task = Task.builder().id(taskId).title("title1").status(Status.DONE).priority(Priority.HIGH).version(0L).build();
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+
         taskService.deleteTask(taskId);
 
         verify(taskRepository).deleteById(taskId);
+        verify(eventPublisher).publishEvent(TaskEvent.deleted(TaskSnapshot.of(task)));
+        verify(eventPublisher).publishEvent(TaskChangedEvent.deleted(TaskSnapshot.of(task)));
     }
 
     @Test
-    public void TaskService_PartialUpdateTask_ReturnsTaskDTO() throws IOException {
-        Task existingTask = new Task();
-        existingTask.setTitle("Original Task");
-
-        TaskDTO expectedTaskDTO = new TaskDTO();
-        expectedTaskDTO.setTitle("Updated Task");
+    void taskService_DeleteTask_MissingId_PublishesNothing() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.empty());
 
-        String jsonPartialUpdate = "{\"title\":\"Updated Task\"}";
+        taskService.deleteTask(1L);
 
-        Task updatedTask = new Task();
-        updatedTask.setTitle("Updated Task");
-
-        when(jsonMergePatch.mergePatchTask(existingTask, jsonPartialUpdate))
-                .thenReturn(updatedTask);
-        when(taskRepository.save(updatedTask))
-                .thenReturn(updatedTask);
-        when(taskDtoAssembler.toModel(updatedTask))
-                .thenReturn(expectedTaskDTO);
-
-        TaskDTO result = taskService.partialUpdateTask(existingTask, jsonPartialUpdate);
-
-        assertNotNull(result);
-        assertEquals(expectedTaskDTO, result);
+        verify(taskRepository, never()).deleteById(any());
+        verifyNoInteractions(eventPublisher);
+    }
 
-        verify(jsonMergePatch).mergePatchTask(existingTask, jsonPartialUpdate);
-        verify(taskRepository).save(updatedTask);
-        verify(taskDtoAssembler).toModel(updatedTask);
+    @Test
+    void taskService_PatchTaskJson_ImmutableField_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.patchTask(1L, "{\"id\":2,\"title\":\"Other\"}", null));
+        verifyNoInteractions(taskRepository, eventPublisher);
     }
 
     @Test
@@ -220,6 +237,177 @@ public class TaskServiceTests {
         assertFalse(orderIterator.hasNext());
     }
 
+    @Test
+    void taskService_BulkUpdate_ReportsConflictsAndNotifiesOnce() {
+        BulkTaskUpdateRequest request = new BulkTaskUpdateRequest(List.of(
+                new BulkTaskUpdateRequest.Item(1L, 3L),
+                new BulkTaskUpdateRequest.Item(2L, 5L),
+                new BulkTaskUpdateRequest.Item(3L, 0L)), Status.DONE, null);
+
+        TaskSnapshot previous = new TaskSnapshot(1L, 3L, "title1", "desc1", Status.IN_PROGRESS, Priority.LOW);
+        TaskSnapshot current = new TaskSnapshot(1L, 4L, "title1", "desc1", Status.DONE, Priority.LOW);
+        when(taskRepository.updateStatusAndPriority(new long[]{1L, 2L, 3L}, new long[]{3L, 5L, 0L}, Status.DONE, null))
+                .thenReturn(List.of(new TaskJdbcRepository.UpdatedRow(previous, current)));
+        when(taskRepository.findExistingIds(any())).thenReturn(List.of(2L));
+        when(taskDtoAssembler.toModel(any(Task.class))).thenReturn(
+                TaskDTO.builder().id(1L).title("title1").status(Status.DONE).priority(Priority.LOW).version(4L).build());
+
+        BulkTaskUpdateResult result = taskService.bulkUpdate(request);
+
+        assertEquals(1, result.updated().size());
+        assertEquals(List.of(
+                new BulkTaskUpdateResult.Failure(2L, BulkTaskUpdateResult.Reason.VERSION_CONFLICT),
+                new BulkTaskUpdateResult.Failure(3L, BulkTaskUpdateResult.Reason.NOT_FOUND)), result.failed());
+        verify(eventPublisher).publishEvent(TaskChangedEvent.updated(previous, current));
+        verify(eventPublisher, times(1)).publishEvent(TaskEvent.bulkUpdated(List.of(current)));
+        verify(eventPublisher, times(1)).publishEvent(any(TaskEvent.class));
+    }
+
+    @Test
+    void taskService_BulkUpdate_DuplicateIds_ThrowsIllegalArgumentException() {
+        BulkTaskUpdateRequest request = new BulkTaskUpdateRequest(List.of(
+                new BulkTaskUpdateRequest.Item(1L, 0L),
+                new BulkTaskUpdateRequest.Item(1L, 0L)), null, Priority.HIGH);
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.bulkUpdate(request));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void taskService_SearchTasks_SizeOutOfRange_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.searchTasks("bug", null, null, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> taskService.searchTasks("bug", null, null, null, -1));
+        assertThrows(IllegalArgumentException.class, () -> taskService.searchTasks("bug", null, null, null, 101));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void taskService_PatchTask_RunsSingleUpdateAndPublishesChange() {
+        Map<String, Object> columns = Map.of("status", Status.DONE);
+        TaskSnapshot previous = new TaskSnapshot(1L, 2L, "title1", "desc1", Status.TO_DO, Priority.LOW);
+        TaskSnapshot current = new TaskSnapshot(1L, 3L, "title1", "desc1", Status.DONE, Priority.LOW);
+        TaskDTO dto = TaskDTO.builder().id(1L).status(Status.DONE).version(3L).build();
+        when(taskRepository.patch(1L, 2L, columns)).thenReturn(Optional.of(new TaskJdbcRepository.UpdatedRow(previous, current)));
+        when(taskDtoAssembler.toModel(any(Task.class))).thenReturn(dto);
+
+        Optional<TaskDTO> result = taskService.patchTask(1L, columns, 2L);
+
+        assertEquals(Optional.of(dto), result);
+        verify(taskRepository, never()).findById(any());
+        verify(taskRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(TaskEvent.updated(previous, current));
+        verify(eventPublisher).publishEvent(TaskChangedEvent.updated(previous, current));
+    }
+
+    @Test
+    void taskService_PatchTask_StaleVersion_ThrowsOptimisticLockException() {
+        Map<String, Object> columns = Map.of("title", "New title");
+        when(taskRepository.patch(1L, 2L, columns)).thenReturn(Optional.empty());
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(Task.builder().id(1L).title("Other title").version(3L).build()));
+
+        assertThrows(OptimisticLockException.class, () -> taskService.patchTask(1L, columns, 2L));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void taskService_PatchTask_MissingTaskWithoutVersion_ReturnsEmpty() {
+        Map<String, Object> columns = Map.of("title", "New title");
+        when(taskRepository.patch(5L, null, columns)).thenReturn(Optional.empty());
+        when(taskRepository.findById(5L)).thenReturn(Optional.empty());
+
+        assertTrue(taskService.patchTask(5L, columns, null).isEmpty());
+    }
+
+    @Test
+    void taskService_PatchTask_SameValues_ReturnsTaskWithoutPublishing() {
+        Map<String, Object> columns = Map.of("title", "Same title");
+        Task task = Task.builder().id(1L).title("Same title").status(Status.TO_DO).priority(Priority.LOW).version(2L).build();
+        TaskDTO dto = TaskDTO.builder().id(1L).title("Same title").version(2L).build();
+        when(taskRepository.patch(1L, 2L, columns)).thenReturn(Optional.empty());
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskDtoAssembler.toModel(task)).thenReturn(dto);
+
+        assertEquals(Optional.of(dto), taskService.patchTask(1L, columns, 2L));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void taskService_GetTasksAfter_FirstPage_SeeksFromStartAndReturnsNextCursor() {
+        Task first = Task.builder().id(1L).title("A").status(Status.TO_DO).priority(Priority.LOW).version(0L).build();
+        Task second = Task.builder().id(2L).title("B").status(Status.TO_DO).priority(Priority.LOW).version(0L).build();
+        Sort sort = Sort.by("title", "id");
+        when(taskRepository.findAllByStatus(Status.TO_DO, ScrollPosition.keyset(), sort, Limit.of(2)))
+                .thenReturn(Window.from(List.of(first, second),
+                        index -> ScrollPosition.forward(Map.of("title", index == 0 ? "A" : "B", "id", index + 1L)), true));
+        when(taskDtoAssembler.toModel(any(Task.class))).thenAnswer(invocation ->
+                TaskDTO.builder().id(invocation.<Task>getArgument(0).getId()).build());
+        when(taskCursorCodec.encode(sort, Map.of("title", "B", "id", 2L))).thenReturn("next");
+
+        TaskCursorPage page = taskService.getTasksAfter(Status.TO_DO, null, "title", null, 2);
+
+        assertEquals(List.of(1L, 2L), page.content().stream().map(TaskDTO::getId).toList());
+        assertEquals("next", page.next());
+    }
+
+    @Test
+    void taskService_GetTasksAfter_Cursor_SeeksPastItAndEndsOnLastPage() {
+        Sort sort = Sort.by(Sort.Order.desc("version"), Sort.Order.desc("id"));
+        Map<String, Object> keys = Map.of("version", 3L, "id", 7L);
+        when(taskCursorCodec.decode("token", sort)).thenReturn(keys);
+        when(taskRepository.findAllBy(ScrollPosition.forward(keys), sort, Limit.of(10)))
+                .thenReturn(Window.from(List.of(), ScrollPosition::offset));
+
+        TaskCursorPage page = taskService.getTasksAfter(null, null, "version,desc", "token", 10);
+
+        assertTrue(page.content().isEmpty());
+        assertNull(page.next());
+        verify(taskCursorCodec, never()).encode(any(), any());
+    }
+
+    @Test
+    void taskService_GetTasksAfter_NullableSortColumn_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.getTasksAfter(null, null, "description", null, 10));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void taskService_GetTasksAfter_SizeOutOfRange_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.getTasksAfter(null, null, "id", null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.getTasksAfter(null, null, "id", null, 101));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void taskService_GetTaskSlice_UsesDtoProjection() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("id"));
+        TaskDTO dto = TaskDTO.builder().id(1L).title("title1").status(Status.TO_DO).priority(Priority.LOW).build();
+        when(taskRepository.findDtoSliceByPriority(Priority.LOW, pageable))
+                .thenReturn(new SliceImpl<>(List.of(dto), pageable, true));
+        when(taskDtoAssembler.addLinks(dto)).thenReturn(dto);
+
+        Slice<TaskDTO> slice = taskService.getTaskSlice(null, Priority.LOW, pageable);
+
+        assertEquals(List.of(dto), slice.getContent());
+        assertTrue(slice.hasNext());
+        verify(taskDtoAssembler, never()).toModel(any(Task.class));
+    }
+
+    @Test
+    void taskService_GetTasksWithoutLinks_BuildsNoLinks() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("id"));
+        TaskDTO dto = TaskDTO.builder().id(1L).title("title1").status(Status.TO_DO).priority(Priority.LOW).build();
+        when(taskRepository.findDtoSliceBy(pageable)).thenReturn(new SliceImpl<>(List.of(dto), pageable, false));
+
+        Slice<TaskDTO> slice = taskService.getTasksWithoutLinks(null, null, pageable);
+
+        assertEquals(List.of(dto), slice.getContent());
+        assertTrue(dto.getLinks().isEmpty());
+        verifyNoInteractions(taskDtoAssembler);
+    }
+
     @Test
     void taskService_BuildPageable_EmptySortParam_ReturnsPageable() {
         int page = 0;
@@ -0,0 +1,129 @@
+package com.company.kanban.unit.service;
+
+import com.company.kanban.config.WriteCoalescingProperties;
+import com.company.kanban.mapper.JsonMergePatch;
+import com.company.kanban.mapper.TaskPatch;
+import com.company.kanban.model.dto.TaskDTO;
+import com.company.kanban.model.enums.Status;
+import com.company.kanban.service.implementations.TaskWriteCoalescerImpl;
+import com.company.kanban.service.interfaces.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TaskWriteCoalescerTests {
+
+    private TaskService taskService;
+    private JsonMergePatch jsonMergePatch;
+    private SimpleMeterRegistry meterRegistry;
+    private TaskWriteCoalescerImpl coalescer;
+    private final ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+
+    @BeforeEach
+    void setUp() {
+        taskService = mock(TaskService.class);
+        jsonMergePatch = new JsonMergePatch(new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator());
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (coalescer != null) coalescer.destroy();
+        callers.close();
+    }
+
+    @Test
+    void patchTask_Disabled_WritesEveryPatch() {
+        coalescer = coalescer(false);
+        TaskDTO dto = TaskDTO.builder().id(1L).status(Status.DONE).version(4L).build();
+        when(taskService.patchTask(eq(1L), any(TaskPatch.class), eq(3L))).thenReturn(Optional.of(dto));
+
+        assertThat(coalescer.patchTask(1L, "{\"status\":\"DONE\"}", 3L)).contains(dto);
+        assertThat(coalescer.patchTask(1L, "{\"status\":\"DONE\"}", 3L)).contains(dto);
+
+        verify(taskService, times(2)).patchTask(eq(1L), any(TaskPatch.class), eq(3L));
+    }
+
+    @Test
+    void patchTask_RapidMoves_OneWriteForAllCallers() throws Exception {
+        coalescer = coalescer(true);
+        TaskDTO dto = TaskDTO.builder().id(1L).status(Status.DONE).version(4L).build();
+        when(taskService.patchTask(eq(1L), any(TaskPatch.class), isNull())).thenReturn(Optional.of(dto));
+
+        List<Future<Optional<TaskDTO>>> results = List.of(
+                patchLater("{\"status\":\"IN_PROGRESS\"}"),
+                patchLater("{\"status\":\"TO_DO\"}"),
+                patchLater("{\"status\":\"DONE\"}"));
+
+        for (Future<Optional<TaskDTO>> result : results) {
+            assertThat(result.get()).contains(dto);
+        }
+        ArgumentCaptor<TaskPatch> written = ArgumentCaptor.forClass(TaskPatch.class);
+        verify(taskService).patchTask(eq(1L), written.capture(), isNull());
+        assertThat(written.getValue().columns()).isEqualTo(Map.of("status", Status.DONE));
+        assertThat(meterRegistry.get("kanban.tasks.coalescing.writes").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("kanban.tasks.coalescing.merged").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void patchTask_StaleLeader_FailsAloneAndRestIsWritten() throws Exception {
+        coalescer = coalescer(true);
+        TaskDTO dto = TaskDTO.builder().id(1L).status(Status.DONE).version(6L).build();
+        when(taskService.patchTask(eq(1L), any(TaskPatch.class), eq(3L))).thenThrow(new OptimisticLockException("stale"));
+        when(taskService.patchTask(eq(1L), any(TaskPatch.class), isNull())).thenReturn(Optional.of(dto));
+
+        Future<Optional<TaskDTO>> stale = patchLater("{\"title\":\"Renamed task\",\"version\":3}");
+        Future<Optional<TaskDTO>> move = patchLater("{\"status\":\"DONE\"}");
+
+        assertThatThrownBy(stale::get).isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(OptimisticLockException.class);
+        assertThat(move.get()).contains(dto);
+
+        ArgumentCaptor<TaskPatch> written = ArgumentCaptor.forClass(TaskPatch.class);
+        verify(taskService).patchTask(eq(1L), written.capture(), isNull());
+        assertThat(written.getValue().columns()).isEqualTo(Map.of("status", Status.DONE));
+    }
+
+    @Test
+    void patchTask_InvalidPatch_FailsBeforeQueueing() {
+        coalescer = coalescer(true);
+
+        assertThatThrownBy(() -> coalescer.patchTask(1L, "{\"id\":2}", null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private TaskWriteCoalescerImpl coalescer(boolean enabled) {
+        return new TaskWriteCoalescerImpl(taskService, jsonMergePatch,
+                new WriteCoalescingProperties(enabled, Duration.ofMillis(300), 50), meterRegistry);
+    }
+
+    //callers are started a little apart so the merge order is the arrival order, all well inside the window
+    private Future<Optional<TaskDTO>> patchLater(String patchJson) throws InterruptedException {
+        Future<Optional<TaskDTO>> result = callers.submit(() -> coalescer.patchTask(1L, patchJson, null));
+        Thread.sleep(30);
+        return result;
+    }
+}
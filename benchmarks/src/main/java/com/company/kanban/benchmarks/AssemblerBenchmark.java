@@ -0,0 +1,64 @@
+package com.company.kanban.benchmarks;
+
+import com.company.kanban.controller.TaskController;
+import com.company.kanban.mapper.TaskDtoAssembler;
+import com.company.kanban.model.dto.TaskDTO;
+import com.company.kanban.model.entity.Task;
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+//toModel inside a bound request, as it runs in a controller, with the per-task methodOn link as baseline
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssemblerBenchmark {
+
+    private TaskDtoAssembler assembler;
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        assembler = new TaskDtoAssembler();
+        task = Task.builder()
+                .id(42L)
+                .version(3L)
+                .title("Benchmark task")
+                .description("A description of average length for a kanban card")
+                .status(Status.TO_DO)
+                .priority(Priority.MED)
+                .build();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.setServerName("localhost");
+        request.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public TaskDTO toModel() {
+        return assembler.toModel(task);
+    }
+
+    @Benchmark
+    public Link methodOnLinkBaseline() {
+        return linkTo(methodOn(TaskController.class).getTaskById(task.getId())).withSelfRel();
+    }
+}
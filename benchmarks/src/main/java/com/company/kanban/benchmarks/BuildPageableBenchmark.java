@@ -0,0 +1,32 @@
+package com.company.kanban.benchmarks;
+
+import com.company.kanban.service.implementations.TaskServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Pageable;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuildPageableBenchmark {
+
+    @Param({"", "title", "status,asc;title,desc", "status,desc;priority,asc;title;id,desc"})
+    public String sort;
+
+    private TaskServiceImpl taskService;
+
+    //buildPageable only parses its arguments, none of the collaborators are touched
+    @Setup
+    public void setUp() {
+        taskService = new TaskServiceImpl(null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public Pageable buildPageable() {
+        return taskService.buildPageable(3, 20, sort);
+    }
+}
@@ -0,0 +1,41 @@
+package com.company.kanban.benchmarks;
+
+import com.company.kanban.mapper.JsonMergePatch;
+import com.company.kanban.mapper.TaskPatch;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+//compiling a typical drag-and-drop PATCH (status only) and a full form edit
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonMergePatchBenchmark {
+
+    private static final String STATUS_PATCH = "{\"status\":\"DONE\"}";
+    private static final String FULL_PATCH = "{\"title\":\"Renamed task\",\"description\":\"New description\","
+            + "\"status\":\"IN_PROGRESS\",\"priority\":\"LOW\"}";
+
+    private JsonMergePatch jsonMergePatch;
+
+    @Setup
+    public void setUp() {
+        jsonMergePatch = new JsonMergePatch(new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Benchmark
+    public TaskPatch statusPatch() throws IOException {
+        return jsonMergePatch.compile(STATUS_PATCH);
+    }
+
+    @Benchmark
+    public TaskPatch fullPatch() throws IOException {
+        return jsonMergePatch.compile(FULL_PATCH);
+    }
+}
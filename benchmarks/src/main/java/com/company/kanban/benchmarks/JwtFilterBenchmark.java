@@ -0,0 +1,59 @@
+package com.company.kanban.benchmarks;
+
+import com.company.kanban.config.PropertiesConfig;
+import com.company.kanban.security.constants.SecurityConstants;
+import com.company.kanban.security.filter.JWTAuthorizationFilter;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+//one authenticated request through the filter: key derivation, signature check and security context setup
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+    private static final FilterChain NO_OP = (request, response) -> {};
+
+    private JWTAuthorizationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        filter = new JWTAuthorizationFilter(new PropertiesConfig(null, null, SECRET));
+
+        String token = Jwts.builder()
+                .subject("benchmark")
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader("Authorization", SecurityConstants.BEARER + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public int verifyToken() throws ServletException, IOException {
+        //OncePerRequestFilter marks the request as filtered, clear it so the next call runs again
+        request.clearAttributes();
+        filter.doFilter(request, response, NO_OP);
+        SecurityContextHolder.clearContext();
+        return response.getStatus();
+    }
+}
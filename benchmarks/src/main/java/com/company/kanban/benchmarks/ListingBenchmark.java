@@ -0,0 +1,87 @@
+package com.company.kanban.benchmarks;
+
+import com.company.kanban.KanbanApplication;
+import com.company.kanban.mapper.TaskDtoAssembler;
+import com.company.kanban.model.dto.TaskDTO;
+import com.company.kanban.model.entity.Task;
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+import com.company.kanban.repository.TaskRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//a 100 row listing through the entity + assembler path and through the DTO projection, against the
+//Testcontainers Postgres of the test profile (needs Docker), compare gc.alloc.rate.norm of the two
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListingBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private TaskDtoAssembler taskDtoAssembler;
+    private TransactionTemplate readOnly;
+    private final Pageable pageable = PageRequest.of(0, 100, Sort.by("id"));
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(KanbanApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "spring.jpa.show-sql=false")
+                .run();
+        taskRepository = context.getBean(TaskRepository.class);
+        taskDtoAssembler = context.getBean(TaskDtoAssembler.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 500; i++) {
+            tasks.add(Task.builder()
+                    .title("Task " + i)
+                    .description("Description " + i)
+                    .status(Status.TO_DO)
+                    .priority(Priority.values()[i % 3])
+                    .build());
+        }
+        taskRepository.saveAll(tasks);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.setServerName("localhost");
+        request.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskDTO> entityListing() {
+        return readOnly.execute(status ->
+                taskRepository.findByStatus(Status.TO_DO, pageable).map(taskDtoAssembler::toModel).getContent());
+    }
+
+    @Benchmark
+    public List<TaskDTO> projectionListing() {
+        return readOnly.execute(status ->
+                taskRepository.findDtosByStatus(Status.TO_DO, pageable).map(taskDtoAssembler::addLinks).getContent());
+    }
+}
@@ -0,0 +1,61 @@
+package com.company.kanban.benchmarks;
+
+import com.company.kanban.mapper.TaskAutoMapper;
+import com.company.kanban.model.dto.TaskDTO;
+import com.company.kanban.model.entity.Task;
+import com.company.kanban.model.enums.Priority;
+import com.company.kanban.model.enums.Status;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+//TaskAutoMapper (the generated TaskMapper) against the ObjectMapper.convertValue implementation it replaced,
+//in time and in bytes per call (gc.alloc.rate.norm)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Task task;
+    private TaskDTO taskDTO;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        task = Task.builder()
+                .id(42L)
+                .version(3L)
+                .title("Benchmark task")
+                .description("A description of average length for a kanban card")
+                .status(Status.IN_PROGRESS)
+                .priority(Priority.HIGH)
+                .build();
+        taskDTO = TaskAutoMapper.convertToDto(task);
+    }
+
+    @Benchmark
+    public TaskDTO toDto() {
+        return TaskAutoMapper.convertToDto(task);
+    }
+
+    @Benchmark
+    public Task toEntity() {
+        return TaskAutoMapper.convertToEntity(taskDTO);
+    }
+
+    @Benchmark
+    public TaskDTO toDtoJacksonBaseline() {
+        return objectMapper.convertValue(task, TaskDTO.class);
+    }
+
+    @Benchmark
+    public Task toEntityJacksonBaseline() {
+        return objectMapper.convertValue(taskDTO, Task.class);
+    }
+}
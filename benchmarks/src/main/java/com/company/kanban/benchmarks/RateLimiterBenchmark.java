@@ -0,0 +1,81 @@
+package com.company.kanban.benchmarks;
+
+import com.company.kanban.service.implementations.RateLimiterServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/*
+ * performIfAllowed from 8 threads at once. sharedClient makes every thread hit the same bucket (one
+ * busy IP), distinctClients gives each thread its own address so only the bucket map is shared.
+ * Buckets run dry after 100 calls, so most measured calls take the 429 path, which costs the same
+ * lookup and CAS as an allowed call minus the supplier.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final Supplier<ResponseEntity<String>> OK = () -> ResponseEntity.ok("ok");
+
+    private RateLimiterServiceImpl rateLimiterService;
+
+    @Setup
+    public void setUp() {
+        rateLimiterService = new RateLimiterServiceImpl();
+    }
+
+    @State(Scope.Thread)
+    public static class SharedClient {
+
+        @Setup
+        public void bind() {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.setRemoteAddr("10.0.0.1");
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        }
+
+        @TearDown
+        public void unbind() {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class DistinctClient {
+
+        private static final AtomicInteger NEXT = new AtomicInteger();
+
+        @Setup
+        public void bind() {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.setRemoteAddr("10.0.1." + NEXT.incrementAndGet());
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        }
+
+        @TearDown
+        public void unbind() {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<String> sharedClient(SharedClient client) {
+        return rateLimiterService.performIfAllowed(OK);
+    }
+
+    @Benchmark
+    public ResponseEntity<String> distinctClients(DistinctClient client) {
+        return rateLimiterService.performIfAllowed(OK);
+    }
+}
@@ -9,6 +9,10 @@ import { websocketService } from '../services/websocket';
 import { TaskDialog } from './TaskDialog';
 import AddIcon from '@mui/icons-material/Add';
 
+// events can arrive regrouped or repeated, an older state never replaces a newer one
+const newer = (current: Task, incoming?: Task) =>
+    incoming && (incoming.version ?? 0) >= (current.version ?? 0) ? incoming : current;
+
 export const TaskBoardContainer: React.FC = () => {
     const queryClient = useQueryClient();
     const isUpdatingRef = useRef<number | null>(null);
@@ -112,7 +116,26 @@ export const TaskBoardContainer: React.FC = () => {
         websocketService.connect();
         const unsubscribe = websocketService.subscribe((notification) => {
             console.log('Websocket notification received:', notification);
+
+            if (notification.type === 'IMPORT') {
+                queryClient.invalidateQueries({ queryKey: ['tasks'] });
+                return;
+            }
+
+            if (notification.type === 'BULK_UPDATE' && notification.tasks) {
+                const updatedById = new Map(notification.tasks.map(task => [task.id, task]));
+                setLocalTasks(prevTasks =>
+                    prevTasks.map(task => newer(task, updatedById.get(task.id)))
+                );
+                return;
+            }
             
+            if (notification.type === 'DELETE' && typeof notification.taskId === 'number') {
+                const deletedId = notification.taskId;
+                setLocalTasks(prevTasks => prevTasks.filter(task => task.id !== deletedId));
+                return;
+            }
+
             if (!notification.task || typeof notification.task.id !== 'number') {
                 console.warn('Received invalid task notification:', notification);
                 return;
@@ -127,13 +150,11 @@ export const TaskBoardContainer: React.FC = () => {
                 const updatedTask = notification.task as Task;
                 setLocalTasks(prevTasks => 
                     prevTasks.map(task => 
-                        task.id === updatedTask.id ? updatedTask : task
+                        task.id === updatedTask.id ? newer(task, updatedTask) : task
                     )
                 );
             } else if (notification.type === 'CREATE' && notification.task) {
                 setLocalTasks(prevTasks => [...prevTasks, notification.task as Task]);
-            } else if (notification.type === 'DELETE' && notification.task) {
-                setLocalTasks(prevTasks => prevTasks.filter(task => task.id !== notification.task?.id));
             } else {
                 queryClient.invalidateQueries({ queryKey: ['tasks'] });
             }
@@ -145,6 +166,13 @@ export const TaskBoardContainer: React.FC = () => {
         };
     }, [queryClient]);
 
+    useEffect(() => {
+        websocketService.setFilter({
+            status: statusFilter === '' ? undefined : (statusFilter as Status),
+            priority: priorityFilter === '' ? undefined : (priorityFilter as Priority),
+        });
+    }, [statusFilter, priorityFilter]);
+
     const handleDragStart = () => {
         setIsDragging(true);
     };
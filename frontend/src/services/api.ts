@@ -1,5 +1,5 @@
 import axios from 'axios';
-import { Task, Status, PageResponse, Priority } from '../types/task';
+import { Task, Status, PageResponse, Priority, BoardSnapshot, BulkTaskUpdateResult, TaskSearchPage, TaskSuggestion, TaskStats } from '../types/task';
 
 const API_BASE_URL = 'http://localhost:8080/api';
 
@@ -47,6 +47,28 @@ export const taskApi = {
         return response.data;
     },
 
+    getBoard: async (size = 10) => {
+        const response = await api.get<BoardSnapshot>('/board', { params: { size } });
+        return response.data;
+    },
+
+    searchTasks: async (q: string, status?: Status, priority?: Priority, after?: string, size = 10) => {
+        const response = await api.get<TaskSearchPage>('/tasks/search', {
+            params: { q, status, priority, after, size }
+        });
+        return response.data;
+    },
+
+    getTaskStats: async () => {
+        const response = await api.get<TaskStats>('/tasks/stats');
+        return response.data;
+    },
+
+    suggestTasks: async (prefix: string, limit = 10) => {
+        const response = await api.get<TaskSuggestion[]>('/tasks/suggest', { params: { prefix, limit } });
+        return response.data;
+    },
+
     getTask: async (id: number) => {
         const response = await api.get<Task>(`/tasks/${id}`);
         return response.data;
@@ -95,6 +117,12 @@ export const taskApi = {
     deleteTask: async (id: number) => {
         await api.delete(`/tasks/${id}`);
     },
+
+    bulkUpdateTasks: async (tasks: Task[], changes: { status?: Status; priority?: Priority }) => {
+        const items = tasks.map(task => ({ id: task.id, version: task.version }));
+        const response = await api.patch<BulkTaskUpdateResult>('/tasks/bulk', { items, ...changes });
+        return response.data;
+    },
 };
 
 export const authApi = {
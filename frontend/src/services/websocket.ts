@@ -1,20 +1,29 @@
-import { Client } from '@stomp/stompjs';
+import { Client, StompSubscription } from '@stomp/stompjs';
 import SockJS from 'sockjs-client';
-import { TaskNotification } from '../types/task';
+import { Priority, Status, TaskNotification } from '../types/task';
+
+// the server delivers outbox messages at least once, eventId lets a repeat be dropped
+const SEEN_EVENT_IDS_LIMIT = 500;
+
+// sent as SUBSCRIBE headers, the server only delivers matching tasks plus board-wide events
+export interface TaskFilter {
+    status?: Status;
+    priority?: Priority;
+}
 
 class WebSocketService {
     private client: Client | null = null;
     private subscribers: ((notification: TaskNotification) => void)[] = [];
+    private seenEventIds = new Set<number>();
+    private subscription: StompSubscription | null = null;
+    private filter: TaskFilter = {};
 
     connect() {
         this.client = new Client({
             webSocketFactory: () => new SockJS('http://localhost:8080/ws'),
             onConnect: () => {
                 console.log('Connected to WebSocket');
-                this.client?.subscribe('/topic/tasks', (message) => {
-                    const notification: TaskNotification = JSON.parse(message.body);
-                    this.subscribers.forEach(callback => callback(notification));
-                });
+                this.subscribeToTasks();
             },
             onDisconnect: () => {
                 console.log('Disconnected from WebSocket');
@@ -31,7 +40,43 @@ class WebSocketService {
         if (this.client) {
             this.client.deactivate();
             this.client = null;
+            this.subscription = null;
+        }
+    }
+
+    setFilter(filter: TaskFilter) {
+        if (filter.status === this.filter.status && filter.priority === this.filter.priority) return;
+        this.filter = filter;
+        if (this.client?.connected) this.subscribeToTasks();
+    }
+
+    private subscribeToTasks() {
+        this.subscription?.unsubscribe();
+        const headers: Record<string, string> = {};
+        if (this.filter.status) headers.status = this.filter.status;
+        if (this.filter.priority) headers.priority = this.filter.priority;
+        // only the filtered topic splits frames so the broker can pick the matching parts
+        const destination = Object.keys(headers).length > 0 ? '/topic/tasks/filtered' : '/topic/tasks';
+        this.subscription = this.client?.subscribe(destination, (message) => {
+            // the server sends arrays of events, older servers a single object
+            const payload: TaskNotification | TaskNotification[] = JSON.parse(message.body);
+            const notifications = Array.isArray(payload) ? payload : [payload];
+            notifications
+                .filter(notification => !this.isRepeat(notification))
+                .forEach(notification => this.subscribers.forEach(callback => callback(notification)));
+        }, headers) ?? null;
+    }
+
+    private isRepeat(notification: TaskNotification) {
+        if (notification.eventId === undefined) return false;
+        if (this.seenEventIds.has(notification.eventId)) return true;
+        this.seenEventIds.add(notification.eventId);
+        if (this.seenEventIds.size > SEEN_EVENT_IDS_LIMIT) {
+            // sets iterate in insertion order, the oldest id goes first
+            const oldest = this.seenEventIds.values().next().value;
+            if (oldest !== undefined) this.seenEventIds.delete(oldest);
         }
+        return false;
     }
 
     subscribe(callback: (notification: TaskNotification) => void) {
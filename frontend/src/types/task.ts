@@ -20,12 +20,65 @@ export interface Task {
 }
 
 export interface TaskNotification {
-    type: 'CREATE' | 'UPDATE' | 'DELETE';
+    type: 'CREATE' | 'UPDATE' | 'DELETE' | 'IMPORT' | 'BULK_UPDATE';
     task?: Task;
+    tasks?: Task[];
     taskId?: number;
+    count?: number;
+    previousStatus?: Status;
+    previousPriority?: Priority;
+    eventId?: number;
     timestamp: string;
 }
 
+export interface BulkTaskUpdateResult {
+    updated: Task[];
+    failed: { id: number; reason: 'NOT_FOUND' | 'VERSION_CONFLICT' }[];
+}
+
+export interface TaskCount {
+    status: Status | null;
+    priority: Priority | null;
+    count: number;
+}
+
+export interface TaskStats {
+    total: number;
+    byStatus: TaskCount[];
+    byPriority: TaskCount[];
+    byStatusAndPriority: TaskCount[];
+}
+
+export interface TaskSuggestion {
+    id: number;
+    title: string;
+    status: Status;
+    version: number;
+}
+
+export interface TaskSearchHit {
+    task: Task;
+    rank: number;
+    titleHighlight: string;
+    snippet: string;
+}
+
+export interface TaskSearchPage {
+    content: TaskSearchHit[];
+    size: number;
+    next: string | null;
+}
+
+export interface BoardColumn {
+    status: Status;
+    tasks: Task[];
+    count: number;
+}
+
+export interface BoardSnapshot {
+    columns: BoardColumn[];
+}
+
 export interface PageResponse<T> {
     content: T[];
     totalElements: number;